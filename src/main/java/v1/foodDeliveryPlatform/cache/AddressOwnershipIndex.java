@@ -0,0 +1,50 @@
+package v1.foodDeliveryPlatform.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import v1.foodDeliveryPlatform.repository.AddressRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded local map of address id to owner id. The owner of an address never changes,
+ * so entries only have to be dropped when the address is deleted.
+ */
+@Component
+@Slf4j
+public class AddressOwnershipIndex {
+
+    private static final long MAXIMUM_SIZE = 100_000;
+
+    private final AddressRepository addressRepository;
+    private final Cache<UUID, UUID> owners;
+
+    public AddressOwnershipIndex(AddressRepository addressRepository, MeterRegistry meterRegistry) {
+        this.addressRepository = addressRepository;
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, owners, "address_owners");
+    }
+
+    public Optional<UUID> getOwnerId(UUID addressId) {
+        return Optional.ofNullable(owners.get(addressId, id -> {
+            log.trace("Loading owner of address: {}", id);
+            return addressRepository.findOwnerIdById(id).orElse(null);
+        }));
+    }
+
+    public void put(UUID addressId, UUID ownerId) {
+        owners.put(addressId, ownerId);
+    }
+
+    public void invalidate(UUID addressId) {
+        owners.invalidate(addressId);
+    }
+}
@@ -0,0 +1,30 @@
+package v1.foodDeliveryPlatform.cache;
+
+import java.time.Duration;
+
+/**
+ * A cached value together with what early refresh needs: how long it took to compute
+ * and when it expires, in epoch millis. Zero means unknown.
+ */
+public record CacheEnvelope(Object value, long computeMillis, long expiresAt) {
+
+    private static final Duration MIN_TIME_TO_LIVE = Duration.ofSeconds(1);
+
+    /**
+     * Entries written by other writers carry no metadata and are never refreshed early.
+     */
+    public static CacheEnvelope wrap(Object stored) {
+        return stored instanceof CacheEnvelope envelope ? envelope : new CacheEnvelope(stored, 0, 0);
+    }
+
+    /**
+     * Time left until {@link #expiresAt}, or {@code fallback} when the expiry is unknown.
+     */
+    public Duration timeToLive(Duration fallback) {
+        if (expiresAt == 0) {
+            return fallback;
+        }
+        Duration left = Duration.ofMillis(expiresAt - System.currentTimeMillis());
+        return left.compareTo(MIN_TIME_TO_LIVE) < 0 ? MIN_TIME_TO_LIVE : left;
+    }
+}
@@ -0,0 +1,96 @@
+package v1.foodDeliveryPlatform.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Secondary index from the owner of cached values (a user id) to the cache entries
+ * holding them, kept as one Redis set per owner. Lets a write evict exactly the entries
+ * of one user, including the ones keyed by email.
+ */
+@Component
+@Slf4j
+public class CacheKeyIndex {
+
+    private static final String KEY_PREFIX = "cache:index:";
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Refreshed on every write and at least as long as the longest cache TTL, so the
+     * index outlives every entry it points to.
+     */
+    private static final Duration TTL = Duration.ofHours(2);
+
+    private static final RedisScript<Long> RECORD_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('SADD', KEYS[1], ARGV[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> DRAIN_SCRIPT = new DefaultRedisScript<>("""
+            local members = redis.call('SMEMBERS', KEYS[1])
+            redis.call('DEL', KEYS[1])
+            return members
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Counter failures;
+
+    public CacheKeyIndex(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.failures = meterRegistry.counter("cache.index.failures");
+    }
+
+    public void record(Object owner, String cacheName, Object key) {
+        try {
+            redisTemplate.execute(RECORD_SCRIPT, List.of(key(owner)),
+                    cacheName + SEPARATOR + TwoTierCache.localKey(key),
+                    String.valueOf(TTL.toMillis()));
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Could not index {} entry {} of {}, it expires with its TTL: {}",
+                    cacheName, key, owner, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes and returns the entries indexed for {@code owner}.
+     */
+    public List<Entry> drain(Object owner) {
+        List<?> members;
+        try {
+            members = redisTemplate.execute(DRAIN_SCRIPT, List.of(key(owner)));
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Could not read cache index of {}: {}", owner, e.getMessage());
+            return List.of();
+        }
+        if (members == null) {
+            return List.of();
+        }
+        return members.stream()
+                .map(String::valueOf)
+                .filter(member -> member.contains(SEPARATOR))
+                .map(member -> {
+                    int separator = member.indexOf(SEPARATOR);
+                    return new Entry(member.substring(0, separator), member.substring(separator + 1));
+                })
+                .toList();
+    }
+
+    private static String key(Object owner) {
+        return KEY_PREFIX + owner;
+    }
+
+    public record Entry(String cacheName, String key) {
+    }
+}
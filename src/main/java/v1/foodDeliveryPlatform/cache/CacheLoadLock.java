@@ -0,0 +1,70 @@
+package v1.foodDeliveryPlatform.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Short Redis lock that lets one node load a missing cache entry while the others wait
+ * for the result.
+ */
+@Slf4j
+public class CacheLoadLock {
+
+    /**
+     * Returned when Redis could not be asked; the caller loads without a lock.
+     */
+    public static final String UNLOCKED = "";
+
+    private static final String KEY_PREFIX = "cache:lock:";
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration lease;
+
+    public CacheLoadLock(StringRedisTemplate redisTemplate, Duration lease) {
+        this.redisTemplate = redisTemplate;
+        this.lease = lease;
+    }
+
+    /**
+     * Returns the token to release the lock with, or null when another node holds it.
+     */
+    public String tryLock(String cacheName, String key) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(key(cacheName, key), token, lease);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (Exception e) {
+            log.warn("Could not lock load of {} entry {}, loading without lock: {}", cacheName, key, e.getMessage());
+            return UNLOCKED;
+        }
+    }
+
+    public void unlock(String cacheName, String key, String token) {
+        if (UNLOCKED.equals(token)) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key(cacheName, key)), token);
+        } catch (Exception e) {
+            log.warn("Could not release load lock of {} entry {}, it expires after {}: {}",
+                    cacheName, key, lease, e.getMessage());
+        }
+    }
+
+    private static String key(String cacheName, String key) {
+        return KEY_PREFIX + cacheName + ":" + key;
+    }
+}
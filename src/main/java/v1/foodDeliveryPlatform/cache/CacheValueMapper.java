@@ -0,0 +1,34 @@
+package v1.foodDeliveryPlatform.cache;
+
+/**
+ * Converts values between the form callers use and the form kept in the cache tiers.
+ * Values read from the cache are converted back on every read, so callers never share
+ * a cached instance.
+ */
+public interface CacheValueMapper {
+
+    Object toCached(Object value);
+
+    Object fromCached(Object cached);
+
+    /**
+     * The owner a cached value is indexed under in {@link CacheKeyIndex}, or null.
+     */
+    default Object ownerOf(Object cached) {
+        return null;
+    }
+
+    static CacheValueMapper identity() {
+        return new CacheValueMapper() {
+            @Override
+            public Object toCached(Object value) {
+                return value;
+            }
+
+            @Override
+            public Object fromCached(Object cached) {
+                return cached;
+            }
+        };
+    }
+}
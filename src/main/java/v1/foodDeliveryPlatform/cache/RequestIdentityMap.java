@@ -0,0 +1,127 @@
+package v1.foodDeliveryPlatform.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Identity map bound to the current HTTP request. Entities loaded through it by the
+ * security expressions and the facades are fetched at most once per request. Outside
+ * of a request every lookup goes straight to the loader.
+ */
+@Component
+@Slf4j
+public class RequestIdentityMap {
+
+    private static final String ATTRIBUTE = RequestIdentityMap.class.getName();
+
+    private final DistributionSummary savedLookupsPerRequest;
+    private final Counter savedLookups;
+
+    public RequestIdentityMap(MeterRegistry meterRegistry) {
+        this.savedLookupsPerRequest = DistributionSummary.builder("request.identity_map.saved_lookups")
+                .description("Entity lookups served from the request identity map per request")
+                .register(meterRegistry);
+        this.savedLookups = Counter.builder("request.identity_map.hits")
+                .description("Entity lookups served from the request identity map")
+                .register(meterRegistry);
+    }
+
+    public <T> T get(Class<T> type, Object id, Supplier<T> loader) {
+        Entries entries = currentEntries();
+        if (entries == null) {
+            return loader.get();
+        }
+
+        Key key = new Key(type, id);
+        Object cached = entries.values.get(key);
+        if (cached != null) {
+            entries.savedLookups++;
+            savedLookups.increment();
+            log.trace("Request identity map hit: {} {}", type.getSimpleName(), id);
+            return type.cast(cached);
+        }
+
+        T value = loader.get();
+        if (value != null) {
+            entries.values.put(key, value);
+        }
+        return value;
+    }
+
+    public <T> T find(Class<T> type, Object id) {
+        Entries entries = currentEntries();
+        if (entries == null) {
+            return null;
+        }
+        Object cached = entries.values.get(new Key(type, id));
+        if (cached != null) {
+            entries.savedLookups++;
+            savedLookups.increment();
+        }
+        return type.cast(cached);
+    }
+
+    public <T> void put(Class<T> type, Object id, T value) {
+        Entries entries = currentEntries();
+        if (entries != null && value != null) {
+            entries.values.put(new Key(type, id), value);
+        }
+    }
+
+    public void evict(Class<?> type, Object id) {
+        Entries entries = currentEntries();
+        if (entries != null) {
+            entries.values.remove(new Key(type, id));
+        }
+    }
+
+    /**
+     * Number of lookups the current request did not have to repeat.
+     */
+    public int getSavedLookups() {
+        Entries entries = currentEntries();
+        return entries == null ? 0 : entries.savedLookups;
+    }
+
+    private Entries currentEntries() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        Entries entries = (Entries) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (entries == null) {
+            Entries created = new Entries();
+            attributes.setAttribute(ATTRIBUTE, created, RequestAttributes.SCOPE_REQUEST);
+            attributes.registerDestructionCallback(ATTRIBUTE, () -> complete(created),
+                    RequestAttributes.SCOPE_REQUEST);
+            entries = created;
+        }
+        return entries;
+    }
+
+    private void complete(Entries entries) {
+        savedLookupsPerRequest.record(entries.savedLookups);
+        if (entries.savedLookups > 0) {
+            log.debug("Request identity map saved {} lookups for {} entities",
+                    entries.savedLookups, entries.values.size());
+        }
+    }
+
+    private record Key(Class<?> type, Object id) {
+    }
+
+    private static final class Entries {
+        private final Map<Key, Object> values = new HashMap<>();
+        private int savedLookups;
+    }
+}
@@ -0,0 +1,409 @@
+package v1.foodDeliveryPlatform.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import v1.foodDeliveryPlatform.config.props.CacheLoadProps;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * A Caffeine cache in front of a shared cache. Reads try the local tier first; every
+ * write goes to both tiers and is announced through {@code invalidation}, so other
+ * nodes drop their local copy. Both tiers hold the form produced by {@code valueMapper},
+ * and every read converts it back, so callers never share a cached instance.
+ * <p>
+ * Loads through {@link #get(Object, Callable)} are single-flight: concurrent misses for
+ * one key share a single load per node, and a short {@link CacheLoadLock} lets one node
+ * load while the others wait for its result. Entries are refreshed early with a
+ * probability that grows towards their jittered expiry (XFetch), so hot keys are
+ * reloaded by one caller before they expire for everyone.
+ */
+public class TwoTierCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, CacheEnvelope> local;
+    private final Cache remote;
+    private final CacheValueMapper valueMapper;
+    private final CacheKeyIndex keyIndex;
+    private final CacheLoadLock loadLock;
+    private final Duration timeToLive;
+    private final CacheLoadProps loadProps;
+    private final BiConsumer<String, Object> invalidation;
+    private final ConcurrentMap<String, CompletableFuture<CacheEnvelope>> inFlight = new ConcurrentHashMap<>();
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Timer localLatency;
+    private final Timer remoteLatency;
+    private final Counter evictions;
+    private final Counter loads;
+    private final Counter coalescedLoads;
+    private final Counter remoteWaits;
+    private final Counter lockTimeouts;
+    private final Counter earlyRefreshes;
+
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<String, CacheEnvelope> local,
+                        Cache remote,
+                        CacheValueMapper valueMapper,
+                        CacheKeyIndex keyIndex,
+                        CacheLoadLock loadLock,
+                        Duration timeToLive,
+                        CacheLoadProps loadProps,
+                        BiConsumer<String, Object> invalidation,
+                        MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.valueMapper = valueMapper;
+        this.keyIndex = keyIndex;
+        this.loadLock = loadLock;
+        this.timeToLive = timeToLive;
+        this.loadProps = loadProps;
+        this.invalidation = invalidation;
+        this.localHits = tierCounter(meterRegistry, "l1", "hit");
+        this.localMisses = tierCounter(meterRegistry, "l1", "miss");
+        this.remoteHits = tierCounter(meterRegistry, "l2", "hit");
+        this.remoteMisses = tierCounter(meterRegistry, "l2", "miss");
+        this.localLatency = tierTimer(meterRegistry, "l1");
+        this.remoteLatency = tierTimer(meterRegistry, "l2");
+        this.evictions = Counter.builder("cache.evictions")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.loads = loadCounter(meterRegistry, "loaded");
+        this.coalescedLoads = loadCounter(meterRegistry, "coalesced");
+        this.remoteWaits = loadCounter(meterRegistry, "remote");
+        this.lockTimeouts = loadCounter(meterRegistry, "lock_timeout");
+        this.earlyRefreshes = Counter.builder("cache.early.refreshes")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    private Counter tierCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.gets")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Timer tierTimer(MeterRegistry meterRegistry, String tier) {
+        return Timer.builder("cache.tier.latency")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+
+    private Counter loadCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.loads")
+                .tag("cache", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CacheEnvelope cached = getCached(key);
+        return cached == null ? null : new SimpleValueWrapper(valueMapper.fromCached(cached.value()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CacheEnvelope cached = getCached(key);
+        if (cached != null && !shouldRefreshEarly(cached)) {
+            return (T) valueMapper.fromCached(cached.value());
+        }
+        if (cached == null) {
+            CacheEnvelope loaded = load(key, valueLoader, null);
+            return loaded == null ? null : (T) valueMapper.fromCached(loaded.value());
+        }
+
+        earlyRefreshes.increment();
+        try {
+            CacheEnvelope refreshed = load(key, valueLoader, cached);
+            return (T) valueMapper.fromCached((refreshed == null ? cached : refreshed).value());
+        } catch (ValueRetrievalException e) {
+            return (T) valueMapper.fromCached(cached.value());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        CacheEnvelope cached = value == null ? null : envelope(value, 0);
+        remote.put(key, cached);
+        if (cached == null) {
+            local.invalidate(localKey(key));
+        } else {
+            local.put(localKey(key), cached);
+            index(key, cached);
+        }
+        invalidation.accept(name, key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        CacheEnvelope cached = value == null ? null : envelope(value, 0);
+        ValueWrapper existing = remote.putIfAbsent(key, cached);
+        if (existing == null) {
+            if (cached != null) {
+                local.put(localKey(key), cached);
+                index(key, cached);
+            }
+            invalidation.accept(name, key);
+            return null;
+        }
+        Object stored = existing.get();
+        return new SimpleValueWrapper(stored == null ? null : valueMapper.fromCached(CacheEnvelope.wrap(stored).value()));
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        local.invalidate(localKey(key));
+        evictions.increment();
+        invalidation.accept(name, key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        local.invalidate(localKey(key));
+        evictions.increment();
+        invalidation.accept(name, key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidation.accept(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        local.invalidateAll();
+        invalidation.accept(name, null);
+        return invalidated;
+    }
+
+    /**
+     * Drops the local copy after another node changed the entry.
+     */
+    void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    /**
+     * Joins a load of the same key already running on this node. While an early refresh
+     * is running, other callers keep getting the current value.
+     */
+    private CacheEnvelope load(Object key, Callable<?> valueLoader, CacheEnvelope current) {
+        String localKey = localKey(key);
+        CompletableFuture<CacheEnvelope> flight = new CompletableFuture<>();
+        CompletableFuture<CacheEnvelope> running = inFlight.putIfAbsent(localKey, flight);
+        if (running != null) {
+            coalescedLoads.increment();
+            return current != null ? current : join(running);
+        }
+
+        try {
+            CacheEnvelope loaded = loadOnce(key, valueLoader, current);
+            flight.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, flight);
+        }
+    }
+
+    /**
+     * Loads under the cross-node lock. A node that does not get the lock serves the
+     * current value if it has one, otherwise polls the shared tier for the other node's
+     * result and loads itself only once {@code lockWait} has passed.
+     */
+    private CacheEnvelope loadOnce(Object key, Callable<?> valueLoader, CacheEnvelope current) {
+        String localKey = localKey(key);
+        String token = loadLock.tryLock(name, localKey);
+        if (token == null) {
+            if (current != null) {
+                return current;
+            }
+            CacheEnvelope loadedElsewhere = awaitRemote(key);
+            if (loadedElsewhere != null) {
+                remoteWaits.increment();
+                return loadedElsewhere;
+            }
+            lockTimeouts.increment();
+        }
+
+        try {
+            if (current == null) {
+                CacheEnvelope loadedMeanwhile = getRemote(key);
+                if (loadedMeanwhile != null) {
+                    return loadedMeanwhile;
+                }
+            }
+            return compute(key, valueLoader);
+        } finally {
+            if (token != null) {
+                loadLock.unlock(name, localKey, token);
+            }
+        }
+    }
+
+    private CacheEnvelope compute(Object key, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        loads.increment();
+        if (value == null) {
+            return null;
+        }
+
+        CacheEnvelope cached = envelope(value, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        remote.put(key, cached);
+        local.put(localKey(key), cached);
+        index(key, cached);
+        return cached;
+    }
+
+    private CacheEnvelope awaitRemote(Object key) {
+        long deadline = System.nanoTime() + loadProps.getLockWait().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(loadProps.getPollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            CacheEnvelope cached = getRemote(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    private static CacheEnvelope join(CompletableFuture<CacheEnvelope> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * XFetch: refreshes when {@code now - computeTime * beta * ln(random)} passes the
+     * expiry, which becomes likely only shortly before it and sooner for slow loads.
+     */
+    private boolean shouldRefreshEarly(CacheEnvelope cached) {
+        if (cached.expiresAt() == 0 || loadProps.getEarlyRefreshBeta() <= 0) {
+            return false;
+        }
+        double random = 1 - ThreadLocalRandom.current().nextDouble();
+        double gap = -cached.computeMillis() * loadProps.getEarlyRefreshBeta() * Math.log(random);
+        return System.currentTimeMillis() + gap >= cached.expiresAt();
+    }
+
+    private CacheEnvelope envelope(Object value, long computeMillis) {
+        long expiresAt = 0;
+        if (timeToLive != null) {
+            double jitter = ThreadLocalRandom.current().nextDouble() * loadProps.getTtlJitter();
+            expiresAt = System.currentTimeMillis() + (long) (timeToLive.toMillis() * (1 - jitter));
+        }
+        return new CacheEnvelope(valueMapper.toCached(value), computeMillis, expiresAt);
+    }
+
+    private void index(Object key, CacheEnvelope cached) {
+        Object owner = valueMapper.ownerOf(cached.value());
+        if (owner != null) {
+            keyIndex.record(owner, name, key);
+        }
+    }
+
+    private CacheEnvelope getCached(Object key) {
+        CacheEnvelope cached = getLocal(key);
+        return cached != null ? cached : getRemote(key);
+    }
+
+    private CacheEnvelope getLocal(Object key) {
+        long start = System.nanoTime();
+        CacheEnvelope value = local.getIfPresent(localKey(key));
+        localLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (value == null) {
+            localMisses.increment();
+        } else {
+            localHits.increment();
+        }
+        return value;
+    }
+
+    private CacheEnvelope getRemote(Object key) {
+        ValueWrapper wrapper = remoteLatency.record(() -> remote.get(key));
+        if (wrapper == null || wrapper.get() == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        CacheEnvelope cached = CacheEnvelope.wrap(wrapper.get());
+        local.put(localKey(key), cached);
+        return cached;
+    }
+
+    /**
+     * Keys travel between nodes as text, the same form Redis cache keys use.
+     */
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,126 @@
+package v1.foodDeliveryPlatform.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import v1.foodDeliveryPlatform.config.props.CacheLoadProps;
+import v1.foodDeliveryPlatform.config.props.LocalCacheProps;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Puts a weight-bounded Caffeine tier in front of every cache of the shared cache
+ * manager. Writes and evictions are broadcast on {@link #CHANNEL}, and each node drops
+ * its local copy of the entries other nodes changed.
+ */
+@Slf4j
+public class TwoTierCacheManager implements CacheManager, MessageListener {
+
+    public static final String CHANNEL = "cache:invalidations";
+
+    private static final String SEPARATOR = "|";
+    private static final String ALL_KEYS = "*";
+
+    private final CacheManager remote;
+    private final CacheValueMapper valueMapper;
+    private final CacheKeyIndex keyIndex;
+    private final StringRedisTemplate redisTemplate;
+    private final LocalCacheProps props;
+    private final CacheLoadProps loadProps;
+    private final Map<String, Duration> timeToLive;
+    private final CacheLoadLock loadLock;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+    private final Counter publishFailures;
+
+    public TwoTierCacheManager(CacheManager remote,
+                               CacheValueMapper valueMapper,
+                               CacheKeyIndex keyIndex,
+                               StringRedisTemplate redisTemplate,
+                               LocalCacheProps props,
+                               CacheLoadProps loadProps,
+                               Map<String, Duration> timeToLive,
+                               MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.valueMapper = valueMapper;
+        this.keyIndex = keyIndex;
+        this.redisTemplate = redisTemplate;
+        this.props = props;
+        this.loadProps = loadProps;
+        this.timeToLive = timeToLive;
+        this.loadLock = new CacheLoadLock(redisTemplate, loadProps.getLockLease());
+        this.meterRegistry = meterRegistry;
+        this.publishFailures = meterRegistry.counter("cache.invalidation.failures");
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoTierCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache shared = remote.getCache(name);
+        if (shared == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new TwoTierCache(n, newLocalCache(n), shared, valueMapper, keyIndex,
+                loadLock, timeToLive.get(n), loadProps, this::publish, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<String, CacheEnvelope> newLocalCache(String name) {
+        return Caffeine.newBuilder()
+                .maximumWeight(props.getMaximumWeights().getOrDefault(name, props.getMaximumWeight()))
+                .weigher((String key, CacheEnvelope value) -> value.value() instanceof Collection<?> c ? 1 + c.size() : 1)
+                .expireAfterWrite(props.getExpireAfterWrite())
+                .build();
+    }
+
+    private void publish(String cacheName, Object key) {
+        String message = nodeId + SEPARATOR + cacheName + SEPARATOR
+                + (key == null ? ALL_KEYS : TwoTierCache.localKey(key));
+        try {
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (Exception e) {
+            publishFailures.increment();
+            log.warn("Could not broadcast invalidation of {} {}, other nodes expire it after {}: {}",
+                    cacheName, key, props.getExpireAfterWrite(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\" + SEPARATOR, 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        TwoTierCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (ALL_KEYS.equals(parts[2])) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[2]);
+        }
+        log.trace("Dropped local {} entry {} changed by another node", parts[1], parts[2]);
+    }
+}
@@ -0,0 +1,87 @@
+package v1.foodDeliveryPlatform.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import v1.foodDeliveryPlatform.model.Address;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Evicts every cached entry of one user: the ones found through {@link CacheKeyIndex}
+ * plus the id keyed entries, which are evicted even when they were never indexed.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class UserCacheInvalidator {
+
+    private static final String USERS = "users";
+    private static final String USER_ADDRESSES = "user_addresses";
+
+    private final CacheManager cacheManager;
+    private final CacheKeyIndex cacheKeyIndex;
+
+    /**
+     * Runs once the surrounding transaction commits, so no reader can cache the old row
+     * again after the eviction.
+     */
+    public void evictUser(UUID userId) {
+        afterCommit(() -> evict(userId));
+    }
+
+    /**
+     * Like {@link #evictUser}, but the address list of the user is reloaded and cached
+     * again right away, so the next read does not hit the database. The list is only
+     * put if no newer write or read stored one in the meantime.
+     */
+    public void refreshAddresses(UUID userId, Supplier<List<Address>> addresses) {
+        afterCommit(() -> {
+            evict(userId);
+            Cache cache = cacheManager.getCache(USER_ADDRESSES);
+            if (cache == null) {
+                return;
+            }
+            try {
+                cache.putIfAbsent(userId, addresses.get());
+            } catch (Exception e) {
+                log.warn("Could not refresh cached addresses of user {}, next read loads them: {}",
+                        userId, e.getMessage());
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void evict(UUID userId) {
+        Set<CacheKeyIndex.Entry> entries = new LinkedHashSet<>(cacheKeyIndex.drain(userId));
+        entries.add(new CacheKeyIndex.Entry(USERS, userId.toString()));
+        entries.add(new CacheKeyIndex.Entry(USER_ADDRESSES, userId.toString()));
+        for (CacheKeyIndex.Entry entry : entries) {
+            Cache cache = cacheManager.getCache(entry.cacheName());
+            if (cache != null) {
+                cache.evict(entry.key());
+            }
+        }
+        log.debug("Evicted {} cached entries of user {}", entries.size(), userId);
+    }
+}
@@ -0,0 +1,29 @@
+package v1.foodDeliveryPlatform.cache.snapshot;
+
+import v1.foodDeliveryPlatform.model.Address;
+import v1.foodDeliveryPlatform.model.User;
+
+import java.util.UUID;
+
+/**
+ * Cached form of an address. The owner is kept as an id only, which is all the lazy
+ * {@code Address.user} association provides without a further query.
+ */
+public record AddressSnapshot(UUID id, UUID userId, String street, String city,
+                              String zip, String state, String country) {
+
+    static AddressSnapshot of(Address address) {
+        UUID userId = address.getUser() == null ? null : address.getUser().getId();
+        return new AddressSnapshot(address.getId(), userId, address.getStreet(), address.getCity(),
+                address.getZip(), address.getState(), address.getCountry());
+    }
+
+    Address toAddress() {
+        User owner = null;
+        if (userId != null) {
+            owner = new User();
+            owner.setId(userId);
+        }
+        return new Address(id, street, city, zip, state, country, owner);
+    }
+}
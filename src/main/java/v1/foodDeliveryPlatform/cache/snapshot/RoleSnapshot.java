@@ -0,0 +1,14 @@
+package v1.foodDeliveryPlatform.cache.snapshot;
+
+import v1.foodDeliveryPlatform.model.Role;
+
+public record RoleSnapshot(Long id, String name) {
+
+    static RoleSnapshot of(Role role) {
+        return new RoleSnapshot(role.getId(), role.getName());
+    }
+
+    Role toRole() {
+        return new Role(id, name);
+    }
+}
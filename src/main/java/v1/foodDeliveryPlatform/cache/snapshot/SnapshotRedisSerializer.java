@@ -0,0 +1,103 @@
+package v1.foodDeliveryPlatform.cache.snapshot;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import v1.foodDeliveryPlatform.cache.CacheEnvelope;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Writes cache snapshots as Smile, a binary JSON encoding, behind a fixed header: the
+ * schema version, the snapshot type, and the expiry and compute time of the
+ * {@link CacheEnvelope}. Bump {@link #SCHEMA_VERSION} together with
+ * {@link #KEY_PREFIX} whenever a snapshot record changes incompatibly. Entries written
+ * with another version read as a miss and are reloaded from the database.
+ */
+public class SnapshotRedisSerializer implements RedisSerializer<Object> {
+
+    public static final byte SCHEMA_VERSION = 3;
+
+    /**
+     * Keeps differently versioned nodes on separate keys during a rolling deploy. Both
+     * key spaces are evicted independently until the old nodes are gone, so a write on
+     * a new node leaves the old key space stale for up to its TTL.
+     */
+    public static final String KEY_PREFIX = "v" + SCHEMA_VERSION + ":";
+
+    private static final byte USER = 'U';
+    private static final byte ADDRESS = 'A';
+    private static final byte ADDRESS_LIST = 'L';
+    private static final int HEADER_LENGTH = 2 + Long.BYTES + Integer.BYTES;
+
+    private final ObjectMapper mapper = new ObjectMapper(new SmileFactory())
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final JavaType addressListType = mapper.getTypeFactory()
+            .constructType(new TypeReference<List<AddressSnapshot>>() {
+            });
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+        CacheEnvelope envelope = CacheEnvelope.wrap(value);
+        byte type = typeOf(envelope.value());
+        try {
+            byte[] body = mapper.writeValueAsBytes(envelope.value());
+            return ByteBuffer.allocate(HEADER_LENGTH + body.length)
+                    .put(SCHEMA_VERSION)
+                    .put(type)
+                    .putLong(envelope.expiresAt())
+                    .putInt((int) Math.min(envelope.computeMillis(), Integer.MAX_VALUE))
+                    .put(body)
+                    .array();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache snapshot", e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < HEADER_LENGTH || bytes[0] != SCHEMA_VERSION) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.wrap(bytes, 2, HEADER_LENGTH - 2);
+        long expiresAt = header.getLong();
+        int computeMillis = header.getInt();
+        try {
+            Object snapshot = switch (bytes[1]) {
+                case USER -> mapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, UserSnapshot.class);
+                case ADDRESS -> mapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, AddressSnapshot.class);
+                case ADDRESS_LIST -> mapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, addressListType);
+                default -> null;
+            };
+            return snapshot == null ? null : new CacheEnvelope(snapshot, computeMillis, expiresAt);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cache snapshot", e);
+        }
+    }
+
+    private byte typeOf(Object value) {
+        if (value instanceof UserSnapshot) {
+            return USER;
+        }
+        if (value instanceof AddressSnapshot) {
+            return ADDRESS;
+        }
+        if (value instanceof List<?> list && list.stream().allMatch(AddressSnapshot.class::isInstance)) {
+            return ADDRESS_LIST;
+        }
+        throw new SerializationException("No cache snapshot format for " + value.getClass().getName());
+    }
+}
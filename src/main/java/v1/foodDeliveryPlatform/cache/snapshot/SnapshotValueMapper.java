@@ -0,0 +1,59 @@
+package v1.foodDeliveryPlatform.cache.snapshot;
+
+import v1.foodDeliveryPlatform.cache.CacheValueMapper;
+import v1.foodDeliveryPlatform.model.Address;
+import v1.foodDeliveryPlatform.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caches users and addresses as immutable snapshots and hands out freshly built,
+ * detached entities on every read.
+ */
+public class SnapshotValueMapper implements CacheValueMapper {
+
+    @Override
+    public Object toCached(Object value) {
+        if (value instanceof User user) {
+            return UserSnapshot.of(user);
+        }
+        if (value instanceof Address address) {
+            return AddressSnapshot.of(address);
+        }
+        if (value instanceof List<?> list && list.stream().allMatch(Address.class::isInstance)) {
+            return list.stream().map(item -> AddressSnapshot.of((Address) item)).toList();
+        }
+        return value;
+    }
+
+    @Override
+    public Object fromCached(Object cached) {
+        if (cached instanceof UserSnapshot user) {
+            return user.toUser();
+        }
+        if (cached instanceof AddressSnapshot address) {
+            return address.toAddress();
+        }
+        if (cached instanceof List<?> list && list.stream().allMatch(AddressSnapshot.class::isInstance)) {
+            List<Address> addresses = new ArrayList<>(list.size());
+            list.forEach(item -> addresses.add(((AddressSnapshot) item).toAddress()));
+            return addresses;
+        }
+        return cached;
+    }
+
+    @Override
+    public Object ownerOf(Object cached) {
+        if (cached instanceof UserSnapshot user) {
+            return user.id();
+        }
+        if (cached instanceof AddressSnapshot address) {
+            return address.userId();
+        }
+        if (cached instanceof List<?> list && !list.isEmpty() && list.get(0) instanceof AddressSnapshot address) {
+            return address.userId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,54 @@
+package v1.foodDeliveryPlatform.cache.snapshot;
+
+import org.hibernate.Hibernate;
+import v1.foodDeliveryPlatform.model.Address;
+import v1.foodDeliveryPlatform.model.User;
+import v1.foodDeliveryPlatform.model.enums.UserSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cached form of a user. The password hash is left out; {@code addresses} is null when
+ * the address list was not loaded.
+ */
+public record UserSnapshot(UUID id, String email, String name, boolean emailConfirmed,
+                           String confirmationCode, LocalDateTime created, LocalDateTime updated,
+                           int tokenVersion, UserSource source, List<RoleSnapshot> roles,
+                           List<AddressSnapshot> addresses) {
+
+    static UserSnapshot of(User user) {
+        List<RoleSnapshot> roles = user.getRoles() == null || !Hibernate.isInitialized(user.getRoles())
+                ? List.of()
+                : user.getRoles().stream().map(RoleSnapshot::of).toList();
+        List<AddressSnapshot> addresses = user.getAddressList() == null || !Hibernate.isInitialized(user.getAddressList())
+                ? null
+                : user.getAddressList().stream().map(AddressSnapshot::of).toList();
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getName(), user.isEmailConfirmed(),
+                user.getConfirmationCode(), user.getCreated(), user.getUpdated(), user.getTokenVersion(),
+                user.getSource(), roles, addresses);
+    }
+
+    User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setName(name);
+        user.setEmailConfirmed(emailConfirmed);
+        user.setConfirmationCode(confirmationCode);
+        user.setCreated(created);
+        user.setUpdated(updated);
+        user.setTokenVersion(tokenVersion);
+        user.setSource(source);
+        user.setRoles(new HashSet<>(roles.stream().map(RoleSnapshot::toRole).toList()));
+        if (addresses != null) {
+            List<Address> addressList = new ArrayList<>();
+            addresses.forEach(address -> addressList.add(address.toAddress()));
+            user.setAddressList(addressList);
+        }
+        return user;
+    }
+}
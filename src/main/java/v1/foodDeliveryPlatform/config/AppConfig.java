@@ -1,6 +1,7 @@
 package v1.foodDeliveryPlatform.config;
 
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.models.Components;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
@@ -19,15 +20,17 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import v1.foodDeliveryPlatform.security.crypto.BoundedPasswordEncoder;
+import v1.foodDeliveryPlatform.security.crypto.PasswordHashCalibrator;
 import v1.foodDeliveryPlatform.security.jwt.JwtTokenFilter;
 import v1.foodDeliveryPlatform.security.jwt.JwtTokenProvider;
+import v1.foodDeliveryPlatform.security.props.HashingProps;
 
 import java.util.Arrays;
 
@@ -40,8 +43,10 @@ public class AppConfig {
     private final JwtTokenProvider tokenProvider;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(HashingProps hashingProps,
+                                           PasswordHashCalibrator passwordHashCalibrator,
+                                           MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(passwordHashCalibrator.createEncoder(), hashingProps, meterRegistry);
     }
 
     @Bean
@@ -93,6 +98,8 @@ public class AppConfig {
                 .authorizeHttpRequests(authorizationManagerRequestMatcherRegistry ->
                         authorizationManagerRequestMatcherRegistry
                                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                                .requestMatchers(HttpMethod.POST, "/api/v1/auth/introspect")
+                                .authenticated()
                                 .requestMatchers("/api/v1/auth/**")
                                 .permitAll()
                                 .requestMatchers("/swagger-ui/**")
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -12,11 +13,22 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import v1.foodDeliveryPlatform.cache.CacheEnvelope;
+import v1.foodDeliveryPlatform.cache.CacheKeyIndex;
+import v1.foodDeliveryPlatform.cache.TwoTierCacheManager;
+import v1.foodDeliveryPlatform.cache.snapshot.SnapshotRedisSerializer;
+import v1.foodDeliveryPlatform.cache.snapshot.SnapshotValueMapper;
+import v1.foodDeliveryPlatform.config.props.CacheLoadProps;
+import v1.foodDeliveryPlatform.config.props.LocalCacheProps;
 
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
@@ -41,24 +53,52 @@ public class RedisConfig {
         return mapper;
     }
 
+    /**
+     * Redis stays the shared cache; each node keeps its hottest entries in process in
+     * front of it.
+     */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        Map<String, RedisCacheConfiguration> cacheConfigs = Map.ofEntries(
-                Map.entry("users", configWithTtl(Duration.ofHours(2))),
-                Map.entry("addresses", configWithTtl(Duration.ofHours(2))),
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     StringRedisTemplate stringRedisTemplate,
+                                     RedisMessageListenerContainer redisMessageListenerContainer,
+                                     LocalCacheProps localCacheProps,
+                                     CacheKeyIndex cacheKeyIndex,
+                                     CacheLoadProps cacheLoadProps,
+                                     MeterRegistry meterRegistry) {
+        Map<String, Duration> timeToLive = Map.of(
+                "users", Duration.ofHours(2),
+                "addresses", Duration.ofHours(2),
 
-                Map.entry("users_by_email", configWithTtl(Duration.ofHours(1))),
-                Map.entry("user_addresses", configWithTtl(Duration.ofHours(1)))
+                "users_by_email", Duration.ofHours(1),
+                "user_addresses", Duration.ofHours(1)
         );
+        Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
+        timeToLive.forEach((name, ttl) -> cacheConfigs.put(name, configWithTtl(ttl)));
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(cacheConfiguration())
                 .withInitialCacheConfigurations(cacheConfigs)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(redisCacheManager, new SnapshotValueMapper(),
+                cacheKeyIndex, stringRedisTemplate, localCacheProps, cacheLoadProps, timeToLive, meterRegistry);
+        redisMessageListenerContainer.addMessageListener(cacheManager, new ChannelTopic(TwoTierCacheManager.CHANNEL));
+        return cacheManager;
     }
 
+    /**
+     * Named caches hold versioned snapshots rather than entities, so nothing JPA specific
+     * and no password hash ends up in Redis. Each entry lives until the jittered expiry
+     * stamped on it by the cache.
+     */
     private RedisCacheConfiguration configWithTtl(Duration duration) {
-        return RedisCacheConfiguration.defaultCacheConfig().entryTtl(duration);
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl((key, value) -> CacheEnvelope.wrap(value).timeToLive(duration))
+                .disableCachingNullValues()
+                .prefixCacheNameWith(SnapshotRedisSerializer.KEY_PREFIX)
+                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new SnapshotRedisSerializer()));
     }
 
     @Bean
@@ -71,4 +111,11 @@ public class RedisConfig {
         template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer(objectMapper()));
         return template;
     }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
@@ -0,0 +1,34 @@
+package v1.foodDeliveryPlatform.config.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "caching.load")
+public class CacheLoadProps {
+
+    /**
+     * Lease of the Redis lock one node takes while it loads a missing entry. Bounds how
+     * long other nodes wait if the loading node dies.
+     */
+    private Duration lockLease = Duration.ofSeconds(5);
+    /**
+     * How long a node waits for another node's load before loading itself.
+     */
+    private Duration lockWait = Duration.ofSeconds(2);
+    private Duration pollInterval = Duration.ofMillis(50);
+    /**
+     * Eagerness of the probabilistic early refresh; values above 1 refresh earlier, 0
+     * turns it off.
+     */
+    private double earlyRefreshBeta = 1.0;
+    /**
+     * Share of the TTL taken off at random per entry, so entries written together do not
+     * expire together.
+     */
+    private double ttlJitter = 0.1;
+}
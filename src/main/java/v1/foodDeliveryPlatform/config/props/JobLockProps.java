@@ -0,0 +1,34 @@
+package v1.foodDeliveryPlatform.config.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "scheduling.lock")
+public class JobLockProps {
+
+    /**
+     * {@code redis} coordinates scheduled jobs across nodes, {@code local} only within
+     * this process, for single-node deployments.
+     */
+    private String store = "redis";
+    /**
+     * Name reported as the runner of a job. Defaults to the host name.
+     */
+    private String nodeId;
+    /**
+     * Lease taken for a run. Renewed while the job is still running, so a node that
+     * dies releases it after at most this long.
+     */
+    private Duration leaseTime = Duration.ofMinutes(1);
+    private Duration renewEvery = Duration.ofSeconds(20);
+    /**
+     * Minimum time a lease is held, so nodes whose clocks fire a bit later do not run
+     * the same tick again after a quick run.
+     */
+    private Duration minHold = Duration.ofSeconds(30);
+}
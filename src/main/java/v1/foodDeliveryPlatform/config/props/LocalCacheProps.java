@@ -0,0 +1,30 @@
+package v1.foodDeliveryPlatform.config.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "caching.local")
+public class LocalCacheProps {
+
+    /**
+     * Weight kept in process per cache. An entry weighs 1, plus the number of elements
+     * when the value is a collection, so the bound covers both entry count and size.
+     */
+    private long maximumWeight = 10_000;
+    /**
+     * Per cache name overrides of {@link #maximumWeight}.
+     */
+    private Map<String, Long> maximumWeights = new HashMap<>();
+    /**
+     * Upper bound on how long a node may serve a stale entry if it misses an
+     * invalidation message.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(1);
+}
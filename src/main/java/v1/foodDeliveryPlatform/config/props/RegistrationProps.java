@@ -0,0 +1,19 @@
+package v1.foodDeliveryPlatform.config.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "users.registration")
+public class RegistrationProps {
+
+    /**
+     * How long a registration waits for its email to be confirmed before it expires
+     * and the email can be registered again.
+     */
+    private Duration pendingTtl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,26 @@
+package v1.foodDeliveryPlatform.config.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "users.cleanup")
+public class UserCleanupProps {
+
+    /**
+     * How long a registration may stay unconfirmed before it is removed.
+     */
+    private Duration unconfirmedTtl = Duration.ofMinutes(5);
+    /**
+     * Users deleted per transaction.
+     */
+    private int chunkSize = 1_000;
+    /**
+     * Chunks deleted per run; the rest is left for the next run.
+     */
+    private int maxChunksPerRun = 100;
+}
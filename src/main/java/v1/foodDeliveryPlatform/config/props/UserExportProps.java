@@ -0,0 +1,27 @@
+package v1.foodDeliveryPlatform.config.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "users.export")
+public class UserExportProps {
+
+    /**
+     * Rows fetched per round trip from the server-side cursor.
+     */
+    private int fetchSize = 500;
+    /**
+     * Exports allowed to run at the same time, each holding one pooled connection.
+     */
+    private int maxConcurrent = 2;
+    /**
+     * Rows written between flushes of the response.
+     */
+    private int flushEvery = 1_000;
+    private Duration queryTimeout = Duration.ofMinutes(30);
+}
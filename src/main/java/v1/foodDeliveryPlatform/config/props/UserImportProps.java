@@ -0,0 +1,47 @@
+package v1.foodDeliveryPlatform.config.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "users.import")
+public class UserImportProps {
+
+    /**
+     * Rows deduplicated, hashed and inserted together in one transaction.
+     */
+    private int batchSize = 500;
+    /**
+     * Threads hashing passwords of an import. Kept below the CPU count so logins keep
+     * their share.
+     */
+    private int hashingThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    /**
+     * Largest import body accepted. Bigger uploads are rejected with 413 before or
+     * while they are spooled.
+     */
+    private DataSize maxImportSize = DataSize.ofMegabytes(100);
+    /**
+     * Disk space that must stay free in the temporary directory after an import is
+     * spooled.
+     */
+    private DataSize minFreeDiskSpace = DataSize.ofMegabytes(256);
+    /**
+     * Imports waiting while another one is running.
+     */
+    private int maxQueuedJobs = 2;
+    private int mailThreads = 2;
+    /**
+     * Confirmation emails waiting to be sent. When full, the import sends them itself.
+     */
+    private int mailQueueCapacity = 10_000;
+    /**
+     * How long reports of finished imports stay available.
+     */
+    private Duration reportRetention = Duration.ofHours(6);
+}
@@ -0,0 +1,25 @@
+package v1.foodDeliveryPlatform.dto.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Batch of tokens to introspect")
+public class IntrospectionRequest {
+
+    @NotEmpty(message = "Tokens must be not empty")
+    @Size(max = 100, message = "At most 100 tokens can be introspected at once")
+    @Schema(description = "Access or refresh tokens")
+    private List<@NotBlank(message = "Token must be not blank") String> tokens;
+}
@@ -0,0 +1,19 @@
+package v1.foodDeliveryPlatform.dto.auth;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Introspection results in the order of the requested tokens")
+public class IntrospectionResponse {
+
+    private List<TokenIntrospection> tokens;
+}
@@ -0,0 +1,46 @@
+package v1.foodDeliveryPlatform.dto.auth;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Introspection result of a single token, claims are present only for active tokens")
+public class TokenIntrospection {
+
+    @Schema(description = "Whether the token is currently accepted")
+    private boolean active;
+
+    @Schema(
+            description = "User's email address",
+            example = "user@example.com",
+            format = "email"
+    )
+    private String sub;
+
+    @Schema(
+            description = "Unique user identifier",
+            example = "123e4567-e89b-12d3-a456-426614174000",
+            format = "uuid"
+    )
+    private UUID id;
+
+    @Schema(description = "User's roles, absent for refresh tokens")
+    private List<String> roles;
+
+    @Schema(description = "Expiration time in seconds since epoch")
+    private Long exp;
+
+    @Schema(description = "Issue time in seconds since epoch")
+    private Long iat;
+}
@@ -0,0 +1,43 @@
+package v1.foodDeliveryPlatform.dto.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress of a bulk user import")
+public class ImportReport {
+
+    private UUID id;
+
+    @Schema(description = "QUEUED, RUNNING, COMPLETED or FAILED")
+    private String status;
+
+    @Schema(description = "Rows read so far")
+    private long processed;
+
+    private long imported;
+
+    @Schema(description = "Rows skipped because the email already exists or repeats in the file")
+    private long duplicates;
+
+    @Schema(description = "Rows skipped because email, password or name is missing or malformed")
+    private long invalid;
+
+    @Schema(description = "Rows read per second since the import started")
+    private double rowsPerSecond;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private String error;
+}
@@ -0,0 +1,25 @@
+package v1.foodDeliveryPlatform.dto.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Page of users ordered by creation time")
+public class UserPageDto {
+
+    private List<UserDto> users;
+
+    @Schema(
+            description = "Opaque token for the next page, absent on the last page",
+            example = "MjAyNS0wMS0wMVQxMDowMHw1NTBlODQwMC1lMjli"
+    )
+    private String nextCursor;
+}
@@ -0,0 +1,7 @@
+package v1.foodDeliveryPlatform.exception;
+
+public class PayloadTooLargeException extends RuntimeException {
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -1,17 +1,27 @@
 package v1.foodDeliveryPlatform.facade;
 
 import jakarta.mail.MessagingException;
+import v1.foodDeliveryPlatform.dto.auth.IntrospectionRequest;
+import v1.foodDeliveryPlatform.dto.auth.IntrospectionResponse;
 import v1.foodDeliveryPlatform.dto.auth.JwtRequest;
 import v1.foodDeliveryPlatform.dto.auth.JwtResponse;
 import v1.foodDeliveryPlatform.dto.auth.RefreshTokenRequest;
 import v1.foodDeliveryPlatform.dto.model.UserDto;
 
+import java.util.Map;
+
 public interface AuthFacade {
-    JwtResponse getToken(JwtRequest jwtRequest);
+    JwtResponse getToken(JwtRequest jwtRequest, String clientIp);
 
     void createUser(UserDto userDto) throws MessagingException;
 
     JwtResponse refreshToken(RefreshTokenRequest refreshToken);
 
+    void logout(RefreshTokenRequest refreshToken);
+
     void confirmEmail(String email, String code);
+
+    Map<String, Object> getJwks();
+
+    IntrospectionResponse introspect(IntrospectionRequest request);
 }
@@ -2,9 +2,14 @@ package v1.foodDeliveryPlatform.facade;
 
 import v1.foodDeliveryPlatform.dto.auth.ChangePasswordRequest;
 import v1.foodDeliveryPlatform.dto.auth.PasswordConfirm;
+import v1.foodDeliveryPlatform.dto.model.ImportReport;
 import v1.foodDeliveryPlatform.dto.model.UserDto;
+import v1.foodDeliveryPlatform.dto.model.UserPageDto;
+import v1.foodDeliveryPlatform.model.enums.DataFormat;
+import v1.foodDeliveryPlatform.service.UserExportService;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.UUID;
 
 public interface UserFacade {
@@ -21,5 +26,11 @@ public interface UserFacade {
 
     UserDto changePassword(UUID id, ChangePasswordRequest changePasswordRequest);
 
-    List<UserDto> getAllUsers();
+    UserPageDto getUsers(String role, Boolean emailConfirmed, String cursor, int size);
+
+    UserExportService.Export exportUsers(DataFormat format);
+
+    ImportReport importUsers(DataFormat format, InputStream body, long contentLength) throws IOException;
+
+    ImportReport getImportReport(UUID id);
 }
@@ -2,6 +2,7 @@ package v1.foodDeliveryPlatform.facade.impl;
 
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
+import v1.foodDeliveryPlatform.cache.RequestIdentityMap;
 import v1.foodDeliveryPlatform.dto.model.AddressDto;
 import v1.foodDeliveryPlatform.facade.AddressFacade;
 import v1.foodDeliveryPlatform.mapper.AddressMapper;
@@ -18,10 +19,11 @@ public class AddressFacadeImpl implements AddressFacade {
 
     private final AddressService addressService;
     private final AddressMapper mapper;
+    private final RequestIdentityMap requestIdentityMap;
 
     @Override
     public AddressDto getById(UUID id) {
-        return mapper.toDto(addressService.getById(id));
+        return mapper.toDto(requestIdentityMap.get(Address.class, id, () -> addressService.getById(id)));
     }
 
     @Override
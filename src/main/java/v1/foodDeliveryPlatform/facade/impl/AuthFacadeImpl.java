@@ -3,6 +3,8 @@ package v1.foodDeliveryPlatform.facade.impl;
 import jakarta.mail.MessagingException;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
+import v1.foodDeliveryPlatform.dto.auth.IntrospectionRequest;
+import v1.foodDeliveryPlatform.dto.auth.IntrospectionResponse;
 import v1.foodDeliveryPlatform.dto.auth.JwtRequest;
 import v1.foodDeliveryPlatform.dto.auth.JwtResponse;
 import v1.foodDeliveryPlatform.dto.auth.RefreshTokenRequest;
@@ -14,6 +16,7 @@ import v1.foodDeliveryPlatform.model.enums.MailType;
 import v1.foodDeliveryPlatform.service.AuthService;
 import v1.foodDeliveryPlatform.service.EmailService;
 
+import java.util.Map;
 import java.util.Properties;
 
 @Component
@@ -25,8 +28,8 @@ public class AuthFacadeImpl implements AuthFacade {
     private final EmailService emailService;
 
     @Override
-    public JwtResponse getToken(JwtRequest jwtRequest) {
-        return authService.loginWithEmailAndPassword(jwtRequest.getEmail(), jwtRequest.getPassword());
+    public JwtResponse getToken(JwtRequest jwtRequest, String clientIp) {
+        return authService.loginWithEmailAndPassword(jwtRequest.getEmail(), jwtRequest.getPassword(), clientIp);
     }
 
     @Override
@@ -40,8 +43,23 @@ public class AuthFacadeImpl implements AuthFacade {
         return authService.refresh(refreshToken.getRefreshToken());
     }
 
+    @Override
+    public void logout(RefreshTokenRequest refreshToken) {
+        authService.logout(refreshToken.getRefreshToken());
+    }
+
     @Override
     public void confirmEmail(String email, String code) {
         emailService.confirmEmail(email, code);
     }
+
+    @Override
+    public Map<String, Object> getJwks() {
+        return authService.getJwks();
+    }
+
+    @Override
+    public IntrospectionResponse introspect(IntrospectionRequest request) {
+        return new IntrospectionResponse(authService.introspect(request.getTokens()));
+    }
 }
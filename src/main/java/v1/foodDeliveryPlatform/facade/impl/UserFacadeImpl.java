@@ -4,13 +4,20 @@ import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Component;
 import v1.foodDeliveryPlatform.dto.auth.ChangePasswordRequest;
 import v1.foodDeliveryPlatform.dto.auth.PasswordConfirm;
+import v1.foodDeliveryPlatform.dto.model.ImportReport;
 import v1.foodDeliveryPlatform.dto.model.UserDto;
+import v1.foodDeliveryPlatform.dto.model.UserPageDto;
 import v1.foodDeliveryPlatform.facade.UserFacade;
 import v1.foodDeliveryPlatform.mapper.UserMapper;
-import v1.foodDeliveryPlatform.model.User;
+import v1.foodDeliveryPlatform.model.UserPage;
+import v1.foodDeliveryPlatform.model.enums.DataFormat;
 import v1.foodDeliveryPlatform.service.AuthService;
+import v1.foodDeliveryPlatform.service.UserExportService;
+import v1.foodDeliveryPlatform.service.UserImportService;
 import v1.foodDeliveryPlatform.service.UserService;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -21,6 +28,8 @@ public class UserFacadeImpl implements UserFacade {
 
     private final UserService userService;
     private final AuthService authService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
     private final UserMapper mapper;
 
     @Override
@@ -56,8 +65,24 @@ public class UserFacadeImpl implements UserFacade {
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return users.stream().map(mapper::toDto).collect(Collectors.toList());
+    public UserPageDto getUsers(String role, Boolean emailConfirmed, String cursor, int size) {
+        UserPage page = userService.getUsers(role, emailConfirmed, cursor, size);
+        List<UserDto> users = page.users().stream().map(mapper::toDto).collect(Collectors.toList());
+        return new UserPageDto(users, page.nextCursor());
+    }
+
+    @Override
+    public UserExportService.Export exportUsers(DataFormat format) {
+        return userExportService.startExport(format);
+    }
+
+    @Override
+    public ImportReport importUsers(DataFormat format, InputStream body, long contentLength) throws IOException {
+        return userImportService.startImport(format, body, contentLength);
+    }
+
+    @Override
+    public ImportReport getImportReport(UUID id) {
+        return userImportService.getReport(id);
     }
 }
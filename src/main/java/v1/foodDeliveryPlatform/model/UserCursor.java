@@ -0,0 +1,41 @@
+package v1.foodDeliveryPlatform.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of the last user of a page in {@code (created_at, id)} order. Clients only
+ * see it as an opaque continuation token.
+ */
+public record UserCursor(LocalDateTime created, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static UserCursor of(User user) {
+        return new UserCursor(user.getCreated(), user.getId());
+    }
+
+    public String encode() {
+        String value = created + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalStateException("Invalid cursor");
+            }
+            return new UserCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    UUID.fromString(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalStateException("Invalid cursor", e);
+        }
+    }
+}
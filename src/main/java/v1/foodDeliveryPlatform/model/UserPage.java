@@ -0,0 +1,9 @@
+package v1.foodDeliveryPlatform.model;
+
+import java.util.List;
+
+/**
+ * One page of users and the token for the next page, or {@code null} on the last page.
+ */
+public record UserPage(List<User> users, String nextCursor) {
+}
@@ -0,0 +1,10 @@
+package v1.foodDeliveryPlatform.model.enums;
+
+/**
+ * How a user row was created. Only self-service sign-ups expire when left unconfirmed;
+ * imported users stay until they confirm.
+ */
+public enum UserSource {
+    SIGNUP,
+    IMPORT
+}
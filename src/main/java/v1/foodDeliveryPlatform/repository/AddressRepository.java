@@ -7,7 +7,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import v1.foodDeliveryPlatform.model.Address;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -16,8 +18,15 @@ public interface AddressRepository extends JpaRepository<Address, UUID> {
     @Query(value = "SELECT * FROM address WHERE user_id = :userId", nativeQuery = true)
     List<Address> findAllByUserId(@Param("userId") UUID userId);
 
+    @Query(value = "SELECT user_id FROM address WHERE id = :id", nativeQuery = true)
+    Optional<UUID> findOwnerIdById(@Param("id") UUID id);
+
     @Modifying
     @Query(value = "DELETE FROM address WHERE id = :id", nativeQuery = true)
     void deleteDirectlyById(@Param("id") UUID id);
 
+    @Modifying
+    @Query(value = "DELETE FROM address WHERE user_id IN (:userIds)", nativeQuery = true)
+    int deleteByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
 }
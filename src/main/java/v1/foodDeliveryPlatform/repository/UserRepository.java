@@ -1,12 +1,17 @@
 package v1.foodDeliveryPlatform.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import v1.foodDeliveryPlatform.model.User;
+import v1.foodDeliveryPlatform.repository.projection.UserCredentials;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,7 +21,120 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     @Query(value = "SELECT * FROM users WHERE email = :email", nativeQuery = true)
     Optional<User> findByEmail(@Param("email") String email);
 
-    @Query(value = "SELECT * FROM users WHERE email_confirmed = false AND created_at < :date",
-            nativeQuery = true)
-    List<User> findByEmailConfirmedFalseAndCreatedAtBefore(@Param("date") LocalDateTime date);
+    /**
+     * Profile view: the user with roles and addresses, as cached under {@code users}.
+     * Roles and addresses are fetched in two statements, since joining both collections
+     * in one would repeat every address once per role. Must run inside a transaction so
+     * that both statements fill the same instance.
+     */
+    default Optional<User> findProfileById(UUID id) {
+        Optional<User> user = findWithRolesById(id);
+        user.ifPresent(u -> findWithAddressesByIdIn(List.of(u.getId())));
+        return user;
+    }
+
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findWithRolesById(@Param("id") UUID id);
+
+    /**
+     * Auth view: the user with roles only, used to build security principals.
+     */
+    @EntityGraph(attributePaths = "roles")
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    Optional<User> findWithRolesByEmail(@Param("email") String email);
+
+    /**
+     * Admin list: first page in {@code (created_at, id)} order. Filters are ignored when null.
+     */
+    @Query("""
+            SELECT u FROM User u
+            WHERE (:emailConfirmed IS NULL OR u.emailConfirmed = :emailConfirmed)
+              AND (:role IS NULL OR EXISTS (
+                    SELECT 1 FROM User ur JOIN ur.roles r WHERE ur.id = u.id AND r.name = :role))
+            ORDER BY u.created, u.id
+            """)
+    List<User> findPage(@Param("role") String role,
+                        @Param("emailConfirmed") Boolean emailConfirmed,
+                        Pageable pageable);
+
+    /**
+     * Admin list: the page following the given {@code (created_at, id)} position.
+     */
+    @Query("""
+            SELECT u FROM User u
+            WHERE (u.created, u.id) > (:created, :id)
+              AND (:emailConfirmed IS NULL OR u.emailConfirmed = :emailConfirmed)
+              AND (:role IS NULL OR EXISTS (
+                    SELECT 1 FROM User ur JOIN ur.roles r WHERE ur.id = u.id AND r.name = :role))
+            ORDER BY u.created, u.id
+            """)
+    List<User> findPageAfter(@Param("created") LocalDateTime created,
+                             @Param("id") UUID id,
+                             @Param("role") String role,
+                             @Param("emailConfirmed") Boolean emailConfirmed,
+                             Pageable pageable);
+
+    /**
+     * Initializes the addresses of an already loaded page of users in one statement.
+     */
+    @EntityGraph(attributePaths = "addressList")
+    @Query("SELECT u FROM User u WHERE u.id IN :ids")
+    List<User> findWithAddressesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Locks the oldest unconfirmed sign-ups for deletion, skipping rows another cleanup
+     * run or a confirmation already holds. Imported users are never selected. Served by
+     * {@code idx_users_unconfirmed_created_at}.
+     */
+    @Query(value = """
+            SELECT id FROM users
+            WHERE email_confirmed = false AND source = 'SIGNUP' AND created_at < :before
+            ORDER BY created_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<UUID> lockUnconfirmedIdsCreatedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_role WHERE user_id IN (:ids)", nativeQuery = true)
+    int deleteRolesByUserIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM users WHERE id IN (:ids)", nativeQuery = true)
+    int deleteDirectlyByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query(value = "SELECT token_version FROM users WHERE id = :id", nativeQuery = true)
+    Optional<Integer> findTokenVersionById(@Param("id") UUID id);
+
+    /**
+     * Increments the token version in place, so concurrent increments are never lost.
+     * Pending changes are flushed first; the version of loaded instances is not updated.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") UUID id);
+
+    @Query(value = """
+            SELECT u.id AS "id", u.email AS "email", u.full_name AS "name",
+                   u.password_hash AS "password", u.email_confirmed AS "emailConfirmed",
+                   u.token_version AS "tokenVersion", string_agg(r.name, ',') AS "roles"
+            FROM users u
+            LEFT JOIN user_role ur ON ur.user_id = u.id
+            LEFT JOIN role r ON r.id = ur.role_id
+            WHERE u.email = :email
+            GROUP BY u.id
+            """, nativeQuery = true)
+    Optional<UserCredentials> findCredentialsByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query("""
+            UPDATE User u SET u.emailConfirmed = true, u.confirmationCode = null, u.updated = :updated
+            WHERE u.id = :id
+            """)
+    int confirmEmail(@Param("id") UUID id, @Param("updated") LocalDateTime updated);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePasswordHash(@Param("id") UUID id, @Param("password") String password);
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package v1.foodDeliveryPlatform.repository.projection;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Columns needed to verify a password and issue tokens, read in a single query.
+ */
+public interface UserCredentials {
+
+    UUID getId();
+
+    String getEmail();
+
+    String getName();
+
+    String getPassword();
+
+    Boolean getEmailConfirmed();
+
+    Integer getTokenVersion();
+
+    /**
+     * Comma separated role names.
+     */
+    String getRoles();
+
+    default List<String> getRoleNames() {
+        String roles = getRoles();
+        return roles == null || roles.isEmpty() ? List.of() : Arrays.asList(roles.split(","));
+    }
+}
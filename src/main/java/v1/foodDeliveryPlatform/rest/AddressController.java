@@ -42,7 +42,7 @@ public class AddressController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get address by id")
-    @PreAuthorize("@expression.isAccessAddress(#id)")
+    @PreAuthorize("@expression.canReadAddress(#id)")
     public ResponseEntity<AddressDto> getById(
             @PathVariable final UUID id) {
         return new ResponseEntity<>(addressFacade.getById(id), HttpStatus.OK);
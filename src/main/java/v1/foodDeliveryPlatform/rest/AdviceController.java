@@ -1,7 +1,9 @@
 package v1.foodDeliveryPlatform.rest;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.AuthenticationException;
@@ -13,7 +15,9 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import v1.foodDeliveryPlatform.exception.AccessDeniedException;
 import v1.foodDeliveryPlatform.exception.EmailNotConfirmedException;
 import v1.foodDeliveryPlatform.exception.ExceptionBody;
+import v1.foodDeliveryPlatform.exception.PayloadTooLargeException;
 import v1.foodDeliveryPlatform.exception.ResourceNotFoundException;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -41,6 +45,24 @@ public class AdviceController {
         return new ExceptionBody("Invalid email or password");
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ExceptionBody handleTooManyRequests(
+            final TooManyRequestsException e,
+            final HttpServletResponse response
+    ) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        return new ExceptionBody(e.getMessage());
+    }
+
+    @ExceptionHandler(PayloadTooLargeException.class)
+    @ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+    public ExceptionBody handlePayloadTooLarge(
+            final PayloadTooLargeException e
+    ) {
+        return new ExceptionBody(e.getMessage());
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ExceptionBody handleIllegalState(
@@ -3,20 +3,28 @@ package v1.foodDeliveryPlatform.rest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.mail.MessagingException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import v1.foodDeliveryPlatform.dto.auth.IntrospectionRequest;
+import v1.foodDeliveryPlatform.dto.auth.IntrospectionResponse;
 import v1.foodDeliveryPlatform.dto.auth.JwtRequest;
 import v1.foodDeliveryPlatform.dto.auth.JwtResponse;
 import v1.foodDeliveryPlatform.dto.auth.RefreshTokenRequest;
+import v1.foodDeliveryPlatform.dto.auth.TokenIntrospection;
 import v1.foodDeliveryPlatform.dto.model.UserDto;
 import v1.foodDeliveryPlatform.dto.validation.OnCreate;
 import v1.foodDeliveryPlatform.facade.AuthFacade;
 
+import java.time.Instant;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -40,8 +48,9 @@ public class AuthController {
     @Operation(summary = "Login User")
     public ResponseEntity<JwtResponse> loginWithEmailAndPassword(
             @Validated
-            @RequestBody JwtRequest jwtRequest) {
-        return new ResponseEntity<>(authFacade.getToken(jwtRequest), HttpStatus.OK);
+            @RequestBody JwtRequest jwtRequest,
+            HttpServletRequest request) {
+        return new ResponseEntity<>(authFacade.getToken(jwtRequest, request.getRemoteAddr()), HttpStatus.OK);
     }
 
     @PostMapping("/register")
@@ -80,4 +89,48 @@ public class AuthController {
             @RequestBody RefreshTokenRequest refreshToken) {
         return authFacade.refreshToken(refreshToken);
     }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke refresh token and its access tokens")
+    public ResponseEntity<Void> logout(
+            @RequestBody RefreshTokenRequest refreshToken) {
+        authFacade.logout(refreshToken);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    @PreAuthorize("permitAll()")
+    @Operation(summary = "Get public keys for token verification")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(15, TimeUnit.MINUTES).cachePublic())
+                .body(authFacade.getJwks());
+    }
+
+    @PostMapping("/introspect")
+    @PreAuthorize("hasAuthority('ROLE_SERVICE')")
+    @Operation(summary = "Introspect a batch of tokens (available to service accounts)")
+    public ResponseEntity<IntrospectionResponse> introspect(
+            @Validated
+            @RequestBody IntrospectionRequest request) {
+        IntrospectionResponse response = authFacade.introspect(request);
+        return ResponseEntity.ok()
+                .cacheControl(introspectionCacheControl(response))
+                .body(response);
+    }
+
+    /**
+     * The response stays valid until the first of its active tokens expires.
+     */
+    private static CacheControl introspectionCacheControl(IntrospectionResponse response) {
+        long now = Instant.now().getEpochSecond();
+        OptionalLong maxAge = response.getTokens().stream()
+                .filter(TokenIntrospection::isActive)
+                .mapToLong(token -> token.getExp() - now)
+                .min();
+        if (maxAge.isEmpty() || maxAge.getAsLong() <= 0) {
+            return CacheControl.noStore();
+        }
+        return CacheControl.maxAge(maxAge.getAsLong(), TimeUnit.SECONDS).cachePrivate();
+    }
 }
\ No newline at end of file
@@ -2,23 +2,37 @@ package v1.foodDeliveryPlatform.rest;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import v1.foodDeliveryPlatform.dto.auth.ChangePasswordRequest;
 import v1.foodDeliveryPlatform.dto.auth.PasswordConfirm;
 import v1.foodDeliveryPlatform.dto.model.AddressDto;
+import v1.foodDeliveryPlatform.dto.model.ImportReport;
 import v1.foodDeliveryPlatform.dto.model.UserDto;
+import v1.foodDeliveryPlatform.dto.model.UserPageDto;
 import v1.foodDeliveryPlatform.dto.validation.OnCreate;
 import v1.foodDeliveryPlatform.dto.validation.OnUpdate;
 import v1.foodDeliveryPlatform.facade.AddressFacade;
 import v1.foodDeliveryPlatform.facade.UserFacade;
+import v1.foodDeliveryPlatform.model.enums.DataFormat;
+import v1.foodDeliveryPlatform.service.UserExportService;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 @RestController
 @RequestMapping("/api/v1/users")
@@ -112,9 +126,57 @@ public class UserController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all users")
+    @Operation(summary = "Get users page by page (available to admin)")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<List<UserDto>> getAll() {
-        return new ResponseEntity<>(userFacade.getAllUsers(), HttpStatus.OK);
+    public ResponseEntity<UserPageDto> getAll(
+            @RequestParam(required = false) final String role,
+            @RequestParam(required = false) final Boolean emailConfirmed,
+            @RequestParam(required = false) final String cursor,
+            @RequestParam(defaultValue = "50") final int size) {
+        return new ResponseEntity<>(userFacade.getUsers(role, emailConfirmed, cursor, size), HttpStatus.OK);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream all users as NDJSON or CSV (available to admin)")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "NDJSON") final DataFormat format,
+            final HttpServletRequest request) {
+        UserExportService.Export export = userFacade.exportUsers(format);
+        // The body may never run (timeout, client gone, executor rejection), so the
+        // export slot is also given back once the async request completes.
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(export,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        export.release();
+                    }
+                });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("users." + format.getExtension())
+                        .build()
+                        .toString())
+                .body(export::writeTo);
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Queue a bulk import of users from NDJSON or CSV (available to admin)")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ImportReport> importUsers(
+            @RequestParam(defaultValue = "NDJSON") final DataFormat format,
+            final HttpServletRequest request) throws IOException {
+        return new ResponseEntity<>(
+                userFacade.importUsers(format, request.getInputStream(), request.getContentLengthLong()),
+                HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/import/{id}")
+    @Operation(summary = "Get bulk import progress (available to admin)")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<ImportReport> getImportReport(
+            @PathVariable final UUID id) {
+        return new ResponseEntity<>(userFacade.getImportReport(id), HttpStatus.OK);
     }
 }
@@ -0,0 +1,135 @@
+package v1.foodDeliveryPlatform.security.crypto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
+import v1.foodDeliveryPlatform.security.props.HashingProps;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the delegate encoder on a dedicated, size-bounded pool so that password hashing
+ * can not occupy request threads. Callers are served in arrival order and are rejected
+ * with {@link TooManyRequestsException} when the queue is full or their hash is not
+ * ready within {@link HashingProps#getMaxWait()}.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitNanos;
+    private final Timer queueWait;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, HashingProps hashingProps, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitNanos = hashingProps.getMaxWait().toNanos();
+        this.executor = new ThreadPoolExecutor(
+                hashingProps.getPoolSize(), hashingProps.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashingProps.getQueueCapacity(), true),
+                Thread.ofPlatform().name("password-hashing-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("auth.hashing.queue.wait")
+                .description("Time a password hashing task waited in the queue")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.hashing.execution")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.hashing.execution")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.queueFullRejections = Counter.builder("auth.hashing.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.timeoutRejections = Counter.builder("auth.hashing.rejected")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+
+        log.info("Password hashing pool initialized - threads: {}, queue capacity: {}, max wait: {}",
+                hashingProps.getPoolSize(), hashingProps.getQueueCapacity(), hashingProps.getMaxWait());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * The unbounded encoder, for bulk jobs that hash on their own pool instead of
+     * competing with logins for this one.
+     */
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    private <T> T execute(Timer timer, Callable<T> task) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            queueFullRejections.increment();
+            log.warn("Password hashing rejected - queue is full ({} waiting)", executor.getQueue().size());
+            throw new TooManyRequestsException("Too many requests, please try again later");
+        }
+
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            timeoutRejections.increment();
+            log.warn("Password hashing rejected - not completed within {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+            throw new TooManyRequestsException("Too many requests, please try again later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
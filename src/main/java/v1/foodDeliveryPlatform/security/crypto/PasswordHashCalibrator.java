@@ -0,0 +1,101 @@
+package v1.foodDeliveryPlatform.security.crypto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import v1.foodDeliveryPlatform.security.props.HashingProps;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Picks the hashing cost that fits the configured latency budget on the current
+ * hardware and builds the encoder used for new hashes. Stored hashes of any supported
+ * algorithm or cost keep matching; hashes without an {@code {id}} prefix are legacy
+ * BCrypt hashes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordHashCalibrator {
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123";
+
+    private final HashingProps hashingProps;
+
+    @Getter
+    private CalibrationReport report;
+
+    public PasswordEncoder createEncoder() {
+        boolean argon2 = hashingProps.getAlgorithm() == HashingProps.Algorithm.ARGON2;
+
+        int cost = argon2
+                ? calibrate(ARGON2, hashingProps.getArgon2Iterations(), hashingProps.getMaxArgon2Iterations(), this::argon2)
+                : calibrate(BCRYPT, hashingProps.getBcryptStrength(), hashingProps.getMaxBcryptStrength(), BCryptPasswordEncoder::new);
+
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(argon2 ? hashingProps.getBcryptStrength() : cost);
+        PasswordEncoder argon = argon2(argon2 ? cost : hashingProps.getArgon2Iterations());
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(
+                argon2 ? ARGON2 : BCRYPT, Map.of(BCRYPT, bcrypt, ARGON2, argon));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+
+    private Argon2PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(16, 32, 1, hashingProps.getArgon2Memory(), iterations);
+    }
+
+    /**
+     * Measures increasing costs starting from the configured minimum and returns the
+     * highest one whose hash still fits the latency budget.
+     */
+    private int calibrate(String algorithm, int minCost, int maxCost, IntFunction<PasswordEncoder> factory) {
+        long budgetMillis = hashingProps.getTargetLatency().toMillis();
+        List<Measurement> measurements = new ArrayList<>();
+        int selected = minCost;
+
+        if (hashingProps.isCalibrate()) {
+            for (int cost = minCost; cost <= maxCost; cost++) {
+                long millis = measure(factory.apply(cost));
+                measurements.add(new Measurement(algorithm, cost, millis));
+                log.debug("Password hashing benchmark - {} cost {}: {} ms", algorithm, cost, millis);
+                if (millis > budgetMillis) {
+                    break;
+                }
+                selected = cost;
+            }
+        }
+
+        report = new CalibrationReport(algorithm, selected, budgetMillis, hashingProps.isCalibrate(), measurements);
+        log.info("Password hashing configured - algorithm: {}, cost: {}, latency budget: {} ms, calibrated: {}",
+                algorithm, selected, budgetMillis, hashingProps.isCalibrate());
+        return selected;
+    }
+
+    private static long measure(PasswordEncoder encoder) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000;
+    }
+
+    public record Measurement(String algorithm, int cost, long millis) {
+    }
+
+    public record CalibrationReport(String algorithm, int selectedCost, long targetLatencyMillis,
+                                    boolean calibrated, List<Measurement> measurements) {
+    }
+}
@@ -0,0 +1,22 @@
+package v1.foodDeliveryPlatform.security.crypto;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the per-hash latency measured for every cost during startup calibration.
+ */
+@Component
+@Endpoint(id = "passwordhashing")
+@RequiredArgsConstructor
+public class PasswordHashingEndpoint {
+
+    private final PasswordHashCalibrator passwordHashCalibrator;
+
+    @ReadOperation
+    public PasswordHashCalibrator.CalibrationReport report() {
+        return passwordHashCalibrator.getReport();
+    }
+}
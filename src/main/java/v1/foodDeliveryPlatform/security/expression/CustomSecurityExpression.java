@@ -3,37 +3,34 @@ package v1.foodDeliveryPlatform.security.expression;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import v1.foodDeliveryPlatform.cache.RequestIdentityMap;
 import v1.foodDeliveryPlatform.exception.ResourceNotFoundException;
 import v1.foodDeliveryPlatform.model.Address;
-import v1.foodDeliveryPlatform.model.Role;
-import v1.foodDeliveryPlatform.repository.RoleRepository;
 import v1.foodDeliveryPlatform.security.jwt.JwtUser;
 import v1.foodDeliveryPlatform.service.AddressService;
+import v1.foodDeliveryPlatform.service.RoleCatalogService;
 
-import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
 @Component("expression")
 @RequiredArgsConstructor
 @Slf4j
 public class CustomSecurityExpression {
 
-    private final RoleRepository roleRepository;
+    private final RoleCatalogService roleCatalogService;
     private final AddressService addressService;
+    private final RequestIdentityMap requestIdentityMap;
 
-    @Transactional
     public boolean isAccessUser(UUID id) {
         log.debug("Checking user access for ID: {}", id);
 
         JwtUser user = getPrincipal();
         UUID userId = user.getId();
 
-        boolean hasAccess = userId.equals(id) || hasAnyRole(roleRepository.findByName("ROLE_ADMIN"));
+        boolean hasAccess = userId.equals(id) || hasRole("ROLE_ADMIN");
 
         if (hasAccess) {
             log.debug("Access GRANTED for user {} to user resource {}", user.getUsername(), id);
@@ -44,20 +41,38 @@ public class CustomSecurityExpression {
         return hasAccess;
     }
 
+    /**
+     * Checks ownership through the address ownership index, without loading the address.
+     */
     public boolean isAccessAddress(UUID addressId) {
+        return checkAddressAccess(addressId, () -> addressService.getOwnerId(addressId));
+    }
+
+    /**
+     * Checks ownership of an address the request is about to return. The address is
+     * loaded through the request identity map, so the facade serving the same request
+     * reads it from there instead of loading it again.
+     */
+    public boolean canReadAddress(UUID addressId) {
+        return checkAddressAccess(addressId, () -> requestIdentityMap
+                .get(Address.class, addressId, () -> addressService.getById(addressId))
+                .getUser().getId());
+    }
+
+    private boolean checkAddressAccess(UUID addressId, Supplier<UUID> owner) {
         log.debug("Checking address access for address ID: {}", addressId);
 
         JwtUser user = getPrincipal();
 
         try {
-            Address address = addressService.getById(addressId);
-            boolean hasAccess = user.getId().equals(address.getUser().getId());
+            UUID ownerId = owner.get();
+            boolean hasAccess = user.getId().equals(ownerId);
 
             if (hasAccess) {
                 log.debug("Access GRANTED for user {} to address {}", user.getUsername(), addressId);
             } else {
                 log.warn("Access DENIED for user {} to address {} (owner: {})",
-                        user.getUsername(), addressId, address.getUser().getId());
+                        user.getUsername(), addressId, ownerId);
             }
 
             return hasAccess;
@@ -70,14 +85,8 @@ public class CustomSecurityExpression {
         }
     }
 
-    private boolean hasAnyRole(Set<Role> roles) {
-        log.trace("Checking if user has any of roles: {}",
-                roles.stream().map(Role::getName).collect(Collectors.toSet()));
-
-        if (roles.isEmpty()) {
-            log.trace("No roles provided for check");
-            return false;
-        }
+    private boolean hasRole(String role) {
+        log.trace("Checking if user has role: {}", role);
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || authentication.getAuthorities() == null) {
@@ -85,9 +94,7 @@ public class CustomSecurityExpression {
             return false;
         }
 
-        boolean hasRole = roles.stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName()))
-                .anyMatch(authority -> authentication.getAuthorities().contains(authority));
+        boolean hasRole = authentication.getAuthorities().contains(roleCatalogService.getAuthority(role));
 
         log.trace("Role check result: {}", hasRole);
         return hasRole;
@@ -0,0 +1,192 @@
+package v1.foodDeliveryPlatform.security.jwt;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import v1.foodDeliveryPlatform.security.props.JwtProps;
+
+import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Holds the key used to sign new tokens and every public key that tokens may still
+ * be verified with. Keys are rotated by first publishing the new public key on all
+ * nodes and only then switching {@code security.jwt.active-key-id} to it. Elliptic
+ * curve signing without configured keys is refused outside the dev and test profiles.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtKeyRing {
+
+    private static final Profiles EPHEMERAL_KEY_PROFILES = Profiles.of("dev", "test");
+
+    private final JwtProps jwtProps;
+    private final Environment environment;
+
+    @Getter
+    private SignatureAlgorithm algorithm;
+    @Getter
+    private String activeKeyId;
+    @Getter
+    private Key signingKey;
+    private SecretKey legacyKey;
+    private Map<String, PublicKey> verificationKeys = Map.of();
+
+    @PostConstruct
+    public void init() {
+        algorithm = jwtProps.getAlgorithm();
+
+        if (jwtProps.getSecret() != null && !jwtProps.getSecret().isBlank()) {
+            legacyKey = Keys.hmacShaKeyFor(jwtProps.getSecret().getBytes());
+        }
+
+        if (algorithm.isHmac()) {
+            if (legacyKey == null) {
+                throw new IllegalStateException("security.jwt.secret is required for " + algorithm);
+            }
+            signingKey = legacyKey;
+            log.info("JWT key ring initialized with {} shared secret", algorithm);
+            return;
+        }
+
+        if (!algorithm.isEllipticCurve()) {
+            throw new IllegalStateException("Unsupported JWT signature algorithm: " + algorithm);
+        }
+
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        Map<String, PrivateKey> privateKeys = new HashMap<>();
+        for (JwtProps.SigningKey key : jwtProps.getKeys()) {
+            publicKeys.put(key.getId(), readPublicKey(key));
+            if (key.getPrivateKey() != null && !key.getPrivateKey().isBlank()) {
+                privateKeys.put(key.getId(), readPrivateKey(key));
+            }
+        }
+
+        if (publicKeys.isEmpty()) {
+            if (!environment.acceptsProfiles(EPHEMERAL_KEY_PROFILES)) {
+                throw new IllegalStateException("No JWT signing keys configured for " + algorithm
+                        + ", set security.jwt.keys (ephemeral keys are only generated in the dev and test profiles)");
+            }
+            KeyPair keyPair = Keys.keyPairFor(algorithm);
+            String kid = UUID.randomUUID().toString();
+            publicKeys.put(kid, keyPair.getPublic());
+            privateKeys.put(kid, keyPair.getPrivate());
+            jwtProps.setActiveKeyId(kid);
+            log.warn("No JWT signing keys configured, generated ephemeral {} key: {}", algorithm, kid);
+        }
+
+        activeKeyId = jwtProps.getActiveKeyId();
+        signingKey = privateKeys.get(activeKeyId);
+        if (signingKey == null) {
+            throw new IllegalStateException("No private key configured for active JWT key: " + activeKeyId);
+        }
+
+        verificationKeys = Map.copyOf(publicKeys);
+        log.info("JWT key ring initialized with {} - active key: {}, verification keys: {}",
+                algorithm, activeKeyId, verificationKeys.keySet());
+    }
+
+    /**
+     * Resolves the key for a token header. Tokens without {@code kid} were signed with
+     * the shared secret and are accepted only while it is still configured.
+     */
+    public Key getVerificationKey(String kid) {
+        if (kid == null) {
+            if (legacyKey == null) {
+                throw new SignatureException("Token without key id is not accepted");
+            }
+            return legacyKey;
+        }
+
+        PublicKey key = verificationKeys.get(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown token signing key: " + kid);
+        }
+        return key;
+    }
+
+    public Map<String, Object> getJwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        verificationKeys.forEach((kid, key) -> {
+            if (key instanceof ECPublicKey ecKey) {
+                keys.add(toJwk(kid, ecKey));
+            }
+        });
+        return Map.of("keys", keys);
+    }
+
+    private Map<String, Object> toJwk(String kid, ECPublicKey key) {
+        int fieldSize = key.getParams().getCurve().getField().getFieldSize();
+        int length = (fieldSize + 7) / 8;
+
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("use", "sig");
+        jwk.put("alg", algorithm.getValue());
+        jwk.put("kid", kid);
+        jwk.put("crv", fieldSize == 521 ? "P-521" : "P-" + fieldSize);
+        jwk.put("x", encodeCoordinate(key.getW().getAffineX(), length));
+        jwk.put("y", encodeCoordinate(key.getW().getAffineY(), length));
+        return jwk;
+    }
+
+    private static String encodeCoordinate(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        byte[] unsigned = new byte[length];
+        if (bytes.length > length) {
+            bytes = Arrays.copyOfRange(bytes, bytes.length - length, bytes.length);
+        }
+        System.arraycopy(bytes, 0, unsigned, length - bytes.length, bytes.length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(unsigned);
+    }
+
+    private static PublicKey readPublicKey(JwtProps.SigningKey key) {
+        try {
+            return KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(decodePem(key.getPublicKey())));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid public key for JWT key: " + key.getId(), e);
+        }
+    }
+
+    private static PrivateKey readPrivateKey(JwtProps.SigningKey key) {
+        try {
+            return KeyFactory.getInstance("EC")
+                    .generatePrivate(new PKCS8EncodedKeySpec(decodePem(key.getPrivateKey())));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid private key for JWT key: " + key.getId(), e);
+        }
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
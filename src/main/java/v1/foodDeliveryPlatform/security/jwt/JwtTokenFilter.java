@@ -1,5 +1,6 @@
 package v1.foodDeliveryPlatform.security.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -29,13 +30,15 @@ public class JwtTokenFilter extends GenericFilterBean {
             bearerToken = bearerToken.substring(7);
         }
         try {
-            if (bearerToken != null
-                    && jwtTokenProvider.isValid(bearerToken)) {
-                Authentication authentication
-                        = jwtTokenProvider.getAuthentication(bearerToken);
-                if (authentication != null) {
-                    SecurityContextHolder.getContext()
-                            .setAuthentication(authentication);
+            if (bearerToken != null) {
+                Claims claims = jwtTokenProvider.parseClaims(bearerToken);
+                if (claims != null) {
+                    Authentication authentication
+                            = jwtTokenProvider.getAuthentication(claims);
+                    if (authentication != null) {
+                        SecurityContextHolder.getContext()
+                                .setAuthentication(authentication);
+                    }
                 }
             }
         } catch (Exception ignored) {
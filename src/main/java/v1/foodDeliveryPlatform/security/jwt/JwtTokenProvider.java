@@ -1,7 +1,6 @@
 package v1.foodDeliveryPlatform.security.jwt;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,88 +14,166 @@ import v1.foodDeliveryPlatform.exception.AccessDeniedException;
 import v1.foodDeliveryPlatform.model.Role;
 import v1.foodDeliveryPlatform.model.User;
 import v1.foodDeliveryPlatform.security.props.JwtProps;
+import v1.foodDeliveryPlatform.security.token.RefreshTokenStore;
+import v1.foodDeliveryPlatform.security.token.TokenRevocationService;
+import v1.foodDeliveryPlatform.security.token.TokenVersionService;
+import v1.foodDeliveryPlatform.service.RoleCatalogService;
 import v1.foodDeliveryPlatform.service.UserService;
 
-import javax.crypto.SecretKey;
+import java.security.Key;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
+    private static final String FAMILY_CLAIM = "fam";
+    private static final String VERSION_CLAIM = "ver";
+
     private final JwtProps jwtProps;
     private final UserDetailsService userDetailsService;
     private final UserService userService;
-    private SecretKey secretKey;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final JwtKeyRing jwtKeyRing;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenRevocationService tokenRevocationService;
+    private final TokenVersionService tokenVersionService;
+    private final RoleCatalogService roleCatalogService;
+    private JwtParser jwtParser;
 
     @PostConstruct
     public void init() {
-        log.info("Initializing JWT Token Provider with secret key");
-        this.secretKey = Keys.hmacShaKeyFor(jwtProps.getSecret().getBytes());
-        log.debug("JWT secret key initialized successfully");
+        log.info("Initializing JWT Token Provider with {} signing", jwtKeyRing.getAlgorithm());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return jwtKeyRing.getVerificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+        log.debug("JWT parser initialized successfully");
+    }
+
+    public String newTokenFamily() {
+        return UUID.randomUUID().toString();
     }
 
-    public String createAccessToken(String email, Set<Role> roles, UUID id) {
+    public String createAccessToken(String email, Collection<String> roles, UUID id, int tokenVersion, String familyId) {
         log.debug("Creating access token for user: {} ({})", email, id);
 
         Claims claims = Jwts.claims().setSubject(email);
         claims.put("id", id);
-        claims.put("roles", getRole(roles));
+        claims.put("roles", List.copyOf(roles));
+        claims.put(VERSION_CLAIM, tokenVersion);
+        claims.put(FAMILY_CLAIM, familyId);
         Date now = new Date();
         Date validity = new Date(now.getTime() + jwtProps.getAccess());
 
-        String token = Jwts.builder()
+        String token = sign(Jwts.builder()
                 .setClaims(claims)
                 .setIssuedAt(now)
-                .setExpiration(validity)
-                .signWith(secretKey, SignatureAlgorithm.HS256)
-                .compact();
+                .setExpiration(validity));
 
         log.debug("Access token created successfully for user: {} (expires: {})",
                 email, validity);
         return token;
     }
 
-    private List<String> getRole(Set<Role> roles) {
-        List<String> roleNames = roles.stream().map(Role::getName).collect(Collectors.toList());
-        log.trace("Extracted roles: {}", roleNames);
-        return roleNames;
+    /**
+     * Creates the first refresh token of a token family and registers it as the only
+     * one that may be exchanged.
+     */
+    public String createRefreshToken(UUID id, String email, int tokenVersion, String familyId) {
+        String tokenId = UUID.randomUUID().toString();
+        String token = buildRefreshToken(id, email, tokenVersion, familyId, tokenId);
+        refreshTokenStore.register(familyId, tokenId);
+        return token;
     }
 
-    public String createRefreshToken(UUID id, String email) {
+    private String buildRefreshToken(UUID id, String email, int tokenVersion, String familyId, String tokenId) {
         log.debug("Creating refresh token for user: {} ({})", email, id);
 
         Claims claims = Jwts.claims().setSubject(email);
         claims.put("id", id);
+        claims.put(VERSION_CLAIM, tokenVersion);
+        claims.put(FAMILY_CLAIM, familyId);
+        claims.setId(tokenId);
         Date now = new Date();
         Date validity = new Date(now.getTime() + jwtProps.getRefresh());
 
-        String token = Jwts.builder()
+        String token = sign(Jwts.builder()
                 .setClaims(claims)
                 .setIssuedAt(now)
-                .setExpiration(validity)
-                .signWith(secretKey, SignatureAlgorithm.HS256)
-                .compact();
+                .setExpiration(validity));
 
         log.debug("Refresh token created successfully for user: {} (expires: {})",
                 email, validity);
         return token;
     }
 
+    private String sign(JwtBuilder builder) {
+        if (jwtKeyRing.getActiveKeyId() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, jwtKeyRing.getActiveKeyId());
+        }
+        return builder
+                .signWith(jwtKeyRing.getSigningKey(), jwtKeyRing.getAlgorithm())
+                .compact();
+    }
+
+    public Map<String, Object> getJwks() {
+        return jwtKeyRing.getJwks();
+    }
+
+    /**
+     * Exchanges a refresh token for a new token pair. Each refresh token is single use:
+     * presenting an already exchanged token revokes its whole family. Tokens issued
+     * before families existed are migrated into a new family once and rejected after.
+     */
     public JwtResponse refreshTokens(String refreshToken) {
         log.info("Refreshing tokens with refresh token");
 
-        if (!isValid(refreshToken)) {
+        Claims claims = parseClaims(refreshToken);
+        if (claims == null || isRevoked(claims) || isOutdated(claims)) {
             log.warn("Token refresh failed - invalid refresh token");
             throw new AccessDeniedException();
         }
 
-        UUID id = UUID.fromString(getId(refreshToken));
+        UUID id = UUID.fromString(claims.get("id", String.class));
+        String familyId = claims.get(FAMILY_CLAIM, String.class);
+        String nextTokenId = UUID.randomUUID().toString();
+
+        if (familyId == null || claims.getId() == null) {
+            Duration remaining = Duration.ofMillis(
+                    Math.max(1, claims.getExpiration().getTime() - System.currentTimeMillis()));
+            if (!refreshTokenStore.consumeLegacy(refreshToken, remaining)) {
+                log.warn("Refresh token reuse detected for user: {} (token without family)", id);
+                throw new AccessDeniedException();
+            }
+            log.info("Migrating refresh token without family for user: {}", id);
+            familyId = newTokenFamily();
+            refreshTokenStore.register(familyId, nextTokenId);
+        } else {
+            RefreshTokenStore.RotationResult result =
+                    refreshTokenStore.rotate(familyId, claims.getId(), nextTokenId);
+            if (result == RefreshTokenStore.RotationResult.REUSED) {
+                log.warn("Refresh token reuse detected for user: {}, revoking token family {}", id, familyId);
+                revokeFamily(familyId);
+                throw new AccessDeniedException();
+            }
+            if (result == RefreshTokenStore.RotationResult.UNKNOWN_FAMILY) {
+                log.warn("Token refresh failed - token family {} expired or revoked", familyId);
+                throw new AccessDeniedException();
+            }
+        }
+
         User user = userService.getById(id);
 
         log.debug("Token refresh successful for user: {} ({})", user.getEmail(), id);
@@ -105,89 +182,167 @@ public class JwtTokenProvider {
         jwtResponse.setId(id);
         jwtResponse.setEmail(user.getEmail());
         jwtResponse.setAccessToken(
-                createAccessToken(user.getEmail(), user.getRoles(), id));
+                createAccessToken(user.getEmail(), getRoleNames(user.getRoles()), id, user.getTokenVersion(), familyId));
         jwtResponse.setRefreshToken(
-                createRefreshToken(id, user.getEmail()));
+                buildRefreshToken(id, user.getEmail(), user.getTokenVersion(), familyId, nextTokenId));
 
         log.info("Tokens refreshed successfully for user: {}", user.getEmail());
         return jwtResponse;
     }
 
+    private static List<String> getRoleNames(Set<Role> roles) {
+        return roles.stream().map(Role::getName).toList();
+    }
+
+    /**
+     * Revokes the token family of the given refresh token, which also rejects every
+     * access token issued from it.
+     */
+    public void revoke(String refreshToken) {
+        Claims claims = parseClaims(refreshToken);
+        if (claims == null) {
+            log.warn("Token revocation failed - invalid refresh token");
+            throw new AccessDeniedException();
+        }
+
+        String familyId = claims.get(FAMILY_CLAIM, String.class);
+        if (familyId != null) {
+            revokeFamily(familyId);
+        }
+    }
+
+    private void revokeFamily(String familyId) {
+        refreshTokenStore.remove(familyId);
+        tokenRevocationService.revokeFamily(familyId);
+    }
+
+    private boolean isRevoked(Claims claims) {
+        String familyId = claims.get(FAMILY_CLAIM, String.class);
+        return familyId != null && tokenRevocationService.isRevoked(familyId);
+    }
+
+    /**
+     * Tokens issued before the user's token version was bumped (password or role
+     * change, deletion) are no longer accepted. Tokens without the claim predate
+     * versioning and are treated as version 0.
+     */
+    private boolean isOutdated(Claims claims) {
+        Integer tokenVersion = claims.get(VERSION_CLAIM, Integer.class);
+        int version = tokenVersion == null ? 0 : tokenVersion;
+        UUID id = UUID.fromString(claims.get("id", String.class));
+        return version != tokenVersionService.currentVersion(id);
+    }
+
+    /**
+     * Returns the claims of a token that would currently be accepted, or {@code null}
+     * when it is invalid, expired, revoked or outdated.
+     */
+    public Claims introspect(String token) {
+        Claims claims = parseClaims(token);
+        if (claims == null || isRevoked(claims) || isOutdated(claims)) {
+            return null;
+        }
+        return claims;
+    }
+
     public boolean isValid(String token) {
+        return parseClaims(token) != null;
+    }
+
+    /**
+     * Verifies the token once and returns its claims, or {@code null} when the token
+     * is not valid. Recently verified tokens are served from {@link VerifiedTokenCache}.
+     */
+    public Claims parseClaims(String token) {
         log.trace("Validating JWT token");
 
-        try {
-            Jws<Claims> claims = Jwts
-                    .parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
+        Claims cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            if (cached.getExpiration().before(new Date())) {
+                log.warn("Token validation FAILED - token expired");
+                return null;
+            }
+            log.trace("Token validation SUCCESS (cached) - subject: {}", cached.getSubject());
+            return cached;
+        }
 
-            boolean isValid = !claims.getBody().getExpiration().before(new Date());
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
 
-            if (isValid) {
-                log.trace("Token validation SUCCESS - subject: {}", claims.getBody().getSubject());
-            } else {
+            if (claims.getExpiration() == null || claims.getExpiration().before(new Date())) {
                 log.warn("Token validation FAILED - token expired");
+                return null;
             }
 
-            return isValid;
+            log.trace("Token validation SUCCESS - subject: {}", claims.getSubject());
+            verifiedTokenCache.put(token, claims);
+            return claims;
 
         } catch (ExpiredJwtException e) {
             log.warn("Token validation FAILED - token expired: {}", e.getMessage());
-            return false;
+            return null;
         } catch (MalformedJwtException e) {
             log.warn("Token validation FAILED - malformed token: {}", e.getMessage());
-            return false;
+            return null;
         } catch (SignatureException e) {
             log.warn("Token validation FAILED - invalid signature: {}", e.getMessage());
-            return false;
+            return null;
         } catch (IllegalArgumentException e) {
             log.warn("Token validation FAILED - illegal argument: {}", e.getMessage());
-            return false;
+            return null;
         } catch (Exception e) {
             log.error("Token validation FAILED - unexpected error: {}", e.getMessage(), e);
-            return false;
+            return null;
         }
     }
 
-    private String getId(String token) {
-        log.trace("Extracting user ID from token");
-        String id = Jwts
-                .parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .get("id", String.class);
-        log.trace("Extracted user ID: {}", id);
-        return id;
-    }
-
-    private String getEmail(String token) {
-        log.trace("Extracting email from token");
-        String email = Jwts
-                .parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-        log.trace("Extracted email: {}", email);
-        return email;
+    public Authentication getAuthentication(final String token) {
+        Claims claims = parseClaims(token);
+        return claims == null ? null : getAuthentication(claims);
     }
 
-    public Authentication getAuthentication(final String token) {
-        log.debug("Getting authentication from token");
+    public Authentication getAuthentication(final Claims claims) {
+        log.debug("Getting authentication from token ({} mode)", jwtProps.getAuthenticationMode());
+
+        if (isRevoked(claims)) {
+            log.warn("Token of revoked family rejected for user: {}", claims.getSubject());
+            return null;
+        }
+
+        if (isOutdated(claims)) {
+            log.warn("Token with outdated version rejected for user: {}", claims.getSubject());
+            return null;
+        }
 
-        String email = getEmail(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        UserDetails userDetails = switch (jwtProps.getAuthenticationMode()) {
+            case CLAIMS -> getUserFromClaims(claims);
+            case LOOKUP -> userDetailsService.loadUserByUsername(claims.getSubject());
+        };
+
+        if (userDetails == null) {
+            return null;
+        }
 
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 userDetails, "", userDetails.getAuthorities());
 
-        log.debug("Authentication created for user: {}", email);
+        log.debug("Authentication created for user: {}", userDetails.getUsername());
         return authentication;
     }
 
+    private UserDetails getUserFromClaims(Claims claims) {
+        List<?> roles = claims.get("roles", List.class);
+        if (roles == null) {
+            log.warn("Token without roles claim can not be used for authentication: {}", claims.getSubject());
+            return null;
+        }
+
+        JwtUser user = JwtUserFactory.create(
+                UUID.fromString(claims.get("id", String.class)),
+                claims.getSubject(),
+                roles.stream().map(role -> roleCatalogService.getAuthority(String.valueOf(role))).toList());
+        log.trace("Principal built from token claims: {} ({})", user.getUsername(), user.getId());
+        return user;
+    }
+
 }
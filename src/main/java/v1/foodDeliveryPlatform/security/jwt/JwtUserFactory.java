@@ -6,7 +6,9 @@ import v1.foodDeliveryPlatform.model.Role;
 import v1.foodDeliveryPlatform.model.User;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public final class JwtUserFactory {
@@ -21,6 +23,16 @@ public final class JwtUserFactory {
         );
     }
 
+    public static JwtUser create(UUID id, String email, Collection<? extends GrantedAuthority> authorities) {
+        return new JwtUser(
+                id,
+                email,
+                null,
+                null,
+                authorities
+        );
+    }
+
     private static List<GrantedAuthority> mapToGrantedAuthorities(List<Role> rolesUser) {
         return rolesUser.stream().map(role ->
                 new SimpleGrantedAuthority(role.getName())).collect(Collectors.toList());
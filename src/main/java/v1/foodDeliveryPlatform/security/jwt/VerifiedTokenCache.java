@@ -0,0 +1,80 @@
+package v1.foodDeliveryPlatform.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import v1.foodDeliveryPlatform.security.props.JwtProps;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of tokens whose signature was already verified. Entries are keyed
+ * by the SHA-256 digest of the token and expire together with the token itself.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final Cache<String, Claims> cache;
+
+    public VerifiedTokenCache(JwtProps jwtProps, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(jwtProps.getVerifiedTokenCacheSize())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt_verified_tokens");
+        log.info("Verified token cache initialized with maximum size: {}", jwtProps.getVerifiedTokenCacheSize());
+    }
+
+    public Claims get(String token) {
+        return cache.getIfPresent(digest(token));
+    }
+
+    public void put(String token, Claims claims) {
+        if (claims.getExpiration() == null) {
+            log.trace("Token without expiration is not cached");
+            return;
+        }
+        cache.put(digest(token), claims);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remaining = claims.getExpiration().getTime() - new Date().getTime();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remaining, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package v1.foodDeliveryPlatform.security.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "security.hashing")
+public class HashingProps {
+
+    /**
+     * Number of threads hashing passwords, bounds the CPU taken by BCrypt.
+     */
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 64;
+    /**
+     * Longest time a caller waits for its hash before the request is rejected.
+     */
+    private Duration maxWait = Duration.ofSeconds(2);
+
+    private Algorithm algorithm = Algorithm.BCRYPT;
+    /**
+     * Measure the hashing cost at startup instead of using the configured minimum.
+     */
+    private boolean calibrate = true;
+    /**
+     * Per-hash latency budget the calibrated cost has to fit in.
+     */
+    private Duration targetLatency = Duration.ofMillis(250);
+    private int bcryptStrength = 10;
+    private int maxBcryptStrength = 16;
+    /**
+     * Argon2 memory cost in KiB.
+     */
+    private int argon2Memory = 19_456;
+    private int argon2Iterations = 2;
+    private int maxArgon2Iterations = 10;
+
+    public enum Algorithm {
+        BCRYPT,
+        ARGON2
+    }
+}
@@ -1,9 +1,13 @@
 package v1.foodDeliveryPlatform.security.props;
 
+import io.jsonwebtoken.SignatureAlgorithm;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @Data
 @ConfigurationProperties(prefix = "security.jwt")
@@ -12,4 +16,37 @@ public class JwtProps {
     private String secret;
     private long access;
     private long refresh;
+    private AuthenticationMode authenticationMode = AuthenticationMode.LOOKUP;
+    private long verifiedTokenCacheSize = 10_000;
+    private SignatureAlgorithm algorithm = SignatureAlgorithm.HS256;
+    private String activeKeyId;
+    private List<SigningKey> keys = new ArrayList<>();
+    private int revocationFilterCapacity = 100_000;
+    private double revocationFilterFpp = 0.001;
+    private long tokenVersionCacheSize = 100_000;
+
+    public enum AuthenticationMode {
+        /**
+         * Principal is reloaded from the user store on every request.
+         */
+        LOOKUP,
+        /**
+         * Principal is built from the verified token claims only.
+         */
+        CLAIMS
+    }
+
+    @Data
+    public static class SigningKey {
+
+        private String id;
+        /**
+         * PKCS#8 private key, only required while the key is used for signing.
+         */
+        private String privateKey;
+        /**
+         * X.509 public key published in the JWKS document.
+         */
+        private String publicKey;
+    }
 }
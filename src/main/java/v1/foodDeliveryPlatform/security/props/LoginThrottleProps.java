@@ -0,0 +1,28 @@
+package v1.foodDeliveryPlatform.security.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "security.login-throttle")
+public class LoginThrottleProps {
+
+    private boolean enabled = true;
+    /**
+     * Login attempts allowed per email within the window.
+     */
+    private int emailLimit = 10;
+    /**
+     * Login attempts allowed per client IP within the window.
+     */
+    private int ipLimit = 100;
+    private Duration window = Duration.ofMinutes(1);
+    /**
+     * Upper bound of emails and IPs tracked by the in-process buckets.
+     */
+    private long maxTrackedKeys = 100_000;
+}
@@ -0,0 +1,95 @@
+package v1.foodDeliveryPlatform.security.token;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import v1.foodDeliveryPlatform.security.props.JwtProps;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Keeps the only refresh token id that is currently valid for every token family.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RefreshTokenStore {
+
+    private static final String FAMILY_KEY_PREFIX = "auth:refresh-family:";
+    private static final String LEGACY_KEY_PREFIX = "auth:refresh-legacy:";
+
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[1])
+            if not current then
+                return -1
+            end
+            if current == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JwtProps jwtProps;
+
+    public void register(String familyId, String tokenId) {
+        redisTemplate.opsForValue().set(familyKey(familyId), tokenId, Duration.ofMillis(jwtProps.getRefresh()));
+        log.debug("Refresh token family registered: {}", familyId);
+    }
+
+    /**
+     * Atomically replaces the current token id of the family with the next one, as long
+     * as the presented id is the current one.
+     */
+    public RotationResult rotate(String familyId, String presentedTokenId, String nextTokenId) {
+        Long result = redisTemplate.execute(ROTATE_SCRIPT, List.of(familyKey(familyId)),
+                presentedTokenId, nextTokenId, String.valueOf(jwtProps.getRefresh()));
+
+        if (result == null || result < 0) {
+            return RotationResult.UNKNOWN_FAMILY;
+        }
+        return result == 1 ? RotationResult.ROTATED : RotationResult.REUSED;
+    }
+
+    /**
+     * Marks a refresh token issued before token families as used. Returns {@code false}
+     * when it was already exchanged. Only a hash of the token is stored, for as long as
+     * the token itself would stay valid.
+     */
+    public boolean consumeLegacy(String refreshToken, Duration remaining) {
+        Boolean first = redisTemplate.opsForValue().setIfAbsent(legacyKey(refreshToken), "1", remaining);
+        return Boolean.TRUE.equals(first);
+    }
+
+    public void remove(String familyId) {
+        redisTemplate.delete(familyKey(familyId));
+    }
+
+    private static String familyKey(String familyId) {
+        return FAMILY_KEY_PREFIX + familyId;
+    }
+
+    private static String legacyKey(String refreshToken) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return LEGACY_KEY_PREFIX + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public enum RotationResult {
+        ROTATED,
+        REUSED,
+        UNKNOWN_FAMILY
+    }
+}
@@ -0,0 +1,125 @@
+package v1.foodDeliveryPlatform.security.token;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import v1.foodDeliveryPlatform.security.props.JwtProps;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Tracks revoked token families. Every node keeps a local Bloom filter of revoked
+ * family ids, fed by Redis pub/sub, so a token that was never revoked is accepted
+ * without a network round trip. Only filter hits are confirmed against Redis.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService implements MessageListener {
+
+    private static final String CHANNEL = "auth:revocations";
+    private static final String REVOKED_KEY = "auth:revoked-families";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final JwtProps jwtProps;
+    private final Counter filterHits;
+    private final Counter confirmedRevocations;
+    private volatile BloomFilter revokedFamilies;
+    private volatile BloomFilter rebuiltFamilies;
+
+    public TokenRevocationService(StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  JwtProps jwtProps,
+                                  MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.jwtProps = jwtProps;
+        this.filterHits = meterRegistry.counter("auth.revocation.filter.hits");
+        this.confirmedRevocations = meterRegistry.counter("auth.revocation.confirmed");
+        this.revokedFamilies = newFilter();
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        rebuild();
+    }
+
+    public boolean isRevoked(String familyId) {
+        if (!revokedFamilies.mightContain(familyId)) {
+            return false;
+        }
+
+        filterHits.increment();
+        try {
+            boolean revoked = redisTemplate.opsForZSet().score(REVOKED_KEY, familyId) != null;
+            if (revoked) {
+                confirmedRevocations.increment();
+            }
+            return revoked;
+        } catch (Exception e) {
+            log.error("Failed to confirm revocation of token family {}, treating as revoked", familyId, e);
+            return true;
+        }
+    }
+
+    public void revokeFamily(String familyId) {
+        long expiresAt = System.currentTimeMillis() + jwtProps.getRefresh();
+        redisTemplate.opsForZSet().add(REVOKED_KEY, familyId, expiresAt);
+        remember(familyId);
+        redisTemplate.convertAndSend(CHANNEL, familyId);
+        log.info("Token family revoked: {}", familyId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String familyId = new String(message.getBody(), StandardCharsets.UTF_8);
+        remember(familyId);
+        log.debug("Received revocation of token family: {}", familyId);
+    }
+
+    /**
+     * Bloom filters can not forget entries, so the filter is rebuilt from the revoked
+     * families that have not expired yet.
+     */
+    @Scheduled(fixedDelayString = "PT10M", initialDelayString = "PT10M")
+    public void rebuild() {
+        BloomFilter filter = newFilter();
+        rebuiltFamilies = filter;
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, 0, System.currentTimeMillis());
+
+            Set<String> revoked = redisTemplate.opsForZSet().range(REVOKED_KEY, 0, -1);
+            if (revoked != null) {
+                revoked.forEach(filter::put);
+            }
+            revokedFamilies = filter;
+            log.debug("Revocation filter rebuilt with {} token families", revoked == null ? 0 : revoked.size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild revocation filter", e);
+        } finally {
+            rebuiltFamilies = null;
+        }
+    }
+
+    private void remember(String familyId) {
+        revokedFamilies.put(familyId);
+        BloomFilter rebuilt = rebuiltFamilies;
+        if (rebuilt != null) {
+            rebuilt.put(familyId);
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(jwtProps.getRevocationFilterCapacity(), jwtProps.getRevocationFilterFpp());
+    }
+}
@@ -0,0 +1,98 @@
+package v1.foodDeliveryPlatform.security.token;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import v1.foodDeliveryPlatform.repository.UserRepository;
+import v1.foodDeliveryPlatform.security.props.JwtProps;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Near cache of the current token version of every user. Tokens carrying an older
+ * version are rejected, and bumping the version is broadcast over Redis pub/sub so
+ * every node drops its cached value.
+ */
+@Service
+@Slf4j
+public class TokenVersionService implements MessageListener {
+
+    public static final int UNKNOWN_USER = -1;
+
+    private static final String CHANNEL = "auth:token-versions";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final Cache<UUID, Integer> versions;
+
+    public TokenVersionService(UserRepository userRepository,
+                               StringRedisTemplate redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               JwtProps jwtProps,
+                               MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(jwtProps.getTokenVersionCacheSize())
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "token_versions");
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    public int currentVersion(UUID userId) {
+        return versions.get(userId, id -> userRepository.findTokenVersionById(id).orElse(UNKNOWN_USER));
+    }
+
+    /**
+     * Drops the cached version on every node once the surrounding transaction commits.
+     */
+    public void invalidate(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userId);
+                }
+            });
+        } else {
+            publish(userId);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        UUID userId = UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8));
+        versions.invalidate(userId);
+        log.debug("Token version invalidated for user: {}", userId);
+    }
+
+    private void publish(UUID userId) {
+        versions.invalidate(userId);
+        try {
+            redisTemplate.convertAndSend(CHANNEL, userId.toString());
+        } catch (Exception e) {
+            log.error("Failed to publish token version change for user: {}", userId, e);
+        }
+    }
+}
@@ -8,6 +8,8 @@ import java.util.UUID;
 public interface AddressService {
     Address getById(UUID id);
 
+    UUID getOwnerId(UUID id);
+
     Address createAddress(Address address, UUID userId);
 
     List<Address> getAllByUserId(UUID userId);
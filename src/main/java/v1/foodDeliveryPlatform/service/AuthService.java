@@ -2,14 +2,24 @@ package v1.foodDeliveryPlatform.service;
 
 import jakarta.mail.MessagingException;
 import v1.foodDeliveryPlatform.dto.auth.JwtResponse;
+import v1.foodDeliveryPlatform.dto.auth.TokenIntrospection;
 import v1.foodDeliveryPlatform.model.User;
 
+import java.util.List;
+import java.util.Map;
+
 public interface AuthService {
-    JwtResponse loginWithEmailAndPassword(String username, String password);
+    JwtResponse loginWithEmailAndPassword(String username, String password, String clientIp);
 
     User createUser(User user) throws MessagingException;
 
     JwtResponse refresh(String refreshToken);
 
     void authenticate(String email, String password);
+
+    void logout(String refreshToken);
+
+    Map<String, Object> getJwks();
+
+    List<TokenIntrospection> introspect(List<String> tokens);
 }
\ No newline at end of file
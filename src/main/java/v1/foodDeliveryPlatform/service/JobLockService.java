@@ -0,0 +1,10 @@
+package v1.foodDeliveryPlatform.service;
+
+public interface JobLockService {
+
+    /**
+     * Runs the task only if this node holds the lease for the job, so a scheduled job
+     * fires on one node per tick. Returns whether the task ran here.
+     */
+    boolean runExclusively(String job, Runnable task);
+}
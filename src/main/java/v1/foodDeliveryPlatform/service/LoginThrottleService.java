@@ -0,0 +1,5 @@
+package v1.foodDeliveryPlatform.service;
+
+public interface LoginThrottleService {
+    void checkLoginAllowed(String email, String clientIp);
+}
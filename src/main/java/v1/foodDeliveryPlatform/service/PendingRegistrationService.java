@@ -0,0 +1,18 @@
+package v1.foodDeliveryPlatform.service;
+
+import v1.foodDeliveryPlatform.model.User;
+
+import java.util.Optional;
+
+public interface PendingRegistrationService {
+
+    /**
+     * Holds an unconfirmed registration until it is confirmed or expires. Returns
+     * false when a registration for the email is already pending.
+     */
+    boolean stage(User user);
+
+    Optional<User> find(String email);
+
+    void remove(String email);
+}
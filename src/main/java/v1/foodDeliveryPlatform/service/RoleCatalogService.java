@@ -0,0 +1,14 @@
+package v1.foodDeliveryPlatform.service;
+
+import org.springframework.security.core.GrantedAuthority;
+import v1.foodDeliveryPlatform.model.Role;
+
+import java.util.Set;
+
+public interface RoleCatalogService {
+    Set<Role> getRoles(String name);
+
+    GrantedAuthority getAuthority(String name);
+
+    void refresh();
+}
@@ -0,0 +1,28 @@
+package v1.foodDeliveryPlatform.service;
+
+import v1.foodDeliveryPlatform.model.enums.DataFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface UserExportService {
+
+    /**
+     * Reserves an export slot, failing fast when all slots are taken. The slot is
+     * released once the returned export has been written, or by {@link Export#release()}
+     * when it will never be.
+     */
+    Export startExport(DataFormat format);
+
+    @FunctionalInterface
+    interface Export {
+        void writeTo(OutputStream out) throws IOException;
+
+        /**
+         * Gives the slot back without writing. Safe to call more than once and after
+         * {@link #writeTo(OutputStream)}.
+         */
+        default void release() {
+        }
+    }
+}
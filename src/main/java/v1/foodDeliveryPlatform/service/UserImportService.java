@@ -0,0 +1,21 @@
+package v1.foodDeliveryPlatform.service;
+
+import v1.foodDeliveryPlatform.dto.model.ImportReport;
+import v1.foodDeliveryPlatform.model.enums.DataFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface UserImportService {
+
+    /**
+     * Spools the body to a temporary file and queues the import, returning its initial
+     * report. Progress can be followed with {@link #getReport(UUID)}. The queue, the
+     * declared {@code contentLength} ({@code -1} when unknown) and the free disk space
+     * are checked before anything is written.
+     */
+    ImportReport startImport(DataFormat format, InputStream body, long contentLength) throws IOException;
+
+    ImportReport getReport(UUID id);
+}
@@ -1,8 +1,8 @@
 package v1.foodDeliveryPlatform.service;
 
 import v1.foodDeliveryPlatform.model.User;
+import v1.foodDeliveryPlatform.model.UserPage;
 
-import java.util.List;
 import java.util.UUID;
 
 public interface UserService {
@@ -16,7 +16,13 @@ public interface UserService {
 
     User getByEmail(String email);
 
+    User createConfirmed(User user);
+
+    void confirmEmail(UUID id);
+
     User changePassword(UUID id, String newRawPassword);
 
-    List<User> getAllUsers();
+    void upgradePasswordHash(UUID id, String encodedPassword);
+
+    UserPage getUsers(String role, Boolean emailConfirmed, String cursor, int size);
 }
@@ -4,9 +4,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import v1.foodDeliveryPlatform.cache.AddressOwnershipIndex;
+import v1.foodDeliveryPlatform.cache.UserCacheInvalidator;
 import v1.foodDeliveryPlatform.exception.ResourceNotFoundException;
 import v1.foodDeliveryPlatform.model.Address;
 import v1.foodDeliveryPlatform.model.User;
@@ -15,6 +16,7 @@ import v1.foodDeliveryPlatform.service.AddressService;
 import v1.foodDeliveryPlatform.service.UserService;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -24,10 +26,12 @@ public class AddressServiceImpl implements AddressService {
 
     private final AddressRepository addressRepository;
     private final UserService userService;
+    private final AddressOwnershipIndex addressOwnershipIndex;
+    private final UserCacheInvalidator userCacheInvalidator;
 
     @Override
     @Transactional
-    @Cacheable(value = "addresses", key = "#id")
+    @Cacheable(value = "addresses", key = "#id", sync = true)
     public Address getById(UUID id) {
         log.debug("Fetching address by ID: {}", id);
         Address address = addressRepository.findById(id).orElseThrow(() -> {
@@ -38,9 +42,16 @@ public class AddressServiceImpl implements AddressService {
         return address;
     }
 
+    @Override
+    public UUID getOwnerId(UUID id) {
+        return addressOwnershipIndex.getOwnerId(id).orElseThrow(() -> {
+            log.warn("Address not found with ID: {}", id);
+            return new ResourceNotFoundException("Address not found");
+        });
+    }
+
     @Override
     @Transactional
-    @CacheEvict(value = "users", allEntries = true)
     public Address createAddress(Address address, UUID userId) {
         log.info("Creating new address for user ID: {}", userId);
 
@@ -48,6 +59,8 @@ public class AddressServiceImpl implements AddressService {
         address.setUser(user);
 
         Address savedAddress = addressRepository.save(address);
+        addressOwnershipIndex.put(savedAddress.getId(), userId);
+        refreshAddresses(userId);
         log.info("Address created successfully: {} ({}) for user: {}",
                 savedAddress.getCity(), savedAddress.getId(), userId);
 
@@ -56,6 +69,7 @@ public class AddressServiceImpl implements AddressService {
 
     @Override
     @Transactional
+    @Cacheable(value = "user_addresses", key = "#userId", sync = true)
     public List<Address> getAllByUserId(UUID userId) {
         log.debug("Fetching all addresses for user ID: {}", userId);
 
@@ -67,11 +81,7 @@ public class AddressServiceImpl implements AddressService {
 
     @Override
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "addresses", key = "#address.id"),
-            @CacheEvict(value = "user_addresses", key = "#result.user.id"),
-            @CacheEvict(value = "users", allEntries = true)
-    })
+    @CacheEvict(value = "addresses", key = "#address.id")
     public Address updateAddress(Address address) {
         log.info("Updating address with ID: {}", address.getId());
 
@@ -87,6 +97,7 @@ public class AddressServiceImpl implements AddressService {
         currentAddress.setCountry(address.getCountry());
 
         Address updatedAddress = addressRepository.save(currentAddress);
+        refreshAddresses(currentAddress.getUser().getId());
         log.info("Address updated successfully: {} ({})",
                 updatedAddress.getCity(), updatedAddress.getId());
 
@@ -95,20 +106,23 @@ public class AddressServiceImpl implements AddressService {
 
     @Override
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "addresses", key = "#id"),
-            @CacheEvict(value = "user_addresses", allEntries = true),
-            @CacheEvict(value = "users", allEntries = true)
-    })
+    @CacheEvict(value = "addresses", key = "#id")
     public void delete(UUID id) {
         log.info("Deleting address with ID: {}", id);
 
         try {
+            Optional<UUID> ownerId = addressOwnershipIndex.getOwnerId(id);
             addressRepository.deleteDirectlyById(id);
+            addressOwnershipIndex.invalidate(id);
+            ownerId.ifPresent(this::refreshAddresses);
             log.info("Address deleted successfully: {}", id);
         } catch (Exception e) {
             log.error("Failed to delete address with ID: {}", id, e);
             throw e;
         }
     }
+
+    private void refreshAddresses(UUID userId) {
+        userCacheInvalidator.refreshAddresses(userId, () -> addressRepository.findAllByUserId(userId));
+    }
 }
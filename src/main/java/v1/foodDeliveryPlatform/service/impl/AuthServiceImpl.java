@@ -1,73 +1,84 @@
 package v1.foodDeliveryPlatform.service.impl;
 
+import io.jsonwebtoken.Claims;
 import jakarta.mail.MessagingException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.DisabledException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 import v1.foodDeliveryPlatform.dto.auth.JwtResponse;
+import v1.foodDeliveryPlatform.dto.auth.TokenIntrospection;
 import v1.foodDeliveryPlatform.exception.EmailNotConfirmedException;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
 import v1.foodDeliveryPlatform.model.User;
-import v1.foodDeliveryPlatform.repository.RoleRepository;
 import v1.foodDeliveryPlatform.repository.UserRepository;
+import v1.foodDeliveryPlatform.repository.projection.UserCredentials;
 import v1.foodDeliveryPlatform.security.jwt.JwtTokenProvider;
 import v1.foodDeliveryPlatform.service.AuthService;
+import v1.foodDeliveryPlatform.service.LoginThrottleService;
+import v1.foodDeliveryPlatform.service.PendingRegistrationService;
+import v1.foodDeliveryPlatform.service.RoleCatalogService;
 import v1.foodDeliveryPlatform.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class AuthServiceImpl implements AuthService {
-    private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final UserService userService;
-    private final RoleRepository roleRepository;
+    private final RoleCatalogService roleCatalogService;
     private final JwtTokenProvider jwtTokenProvider;
-    private final BCryptPasswordEncoder passwordEncoder;
-
+    private final PasswordEncoder passwordEncoder;
+    private final LoginThrottleService loginThrottleService;
+    private final PendingRegistrationService pendingRegistrationService;
+    private volatile String unknownUserHash;
 
     @Override
-    public JwtResponse loginWithEmailAndPassword(String email, String password) {
+    public JwtResponse loginWithEmailAndPassword(String email, String password, String clientIp) {
         log.info("Attempting login for email: {}", email);
+        loginThrottleService.checkLoginAllowed(email, clientIp);
 
         try {
-            authenticate(email, password);
-            User user = userService.getByEmail(email);
+            UserCredentials credentials = verifyPassword(email, password);
 
-            if (!user.isEmailConfirmed()) {
+            if (!Boolean.TRUE.equals(credentials.getEmailConfirmed())) {
                 log.warn("Login failed - email not confirmed: {}", email);
                 throw new EmailNotConfirmedException("Email not confirmed. Please check your email for confirmation link.");
             }
 
-            log.debug("User authenticated successfully: {} ({})", email, user.getId());
+            log.debug("User authenticated successfully: {} ({})", email, credentials.getId());
+            upgradePasswordHash(credentials, password);
 
+            int tokenVersion = credentials.getTokenVersion() == null ? 0 : credentials.getTokenVersion();
+            String familyId = jwtTokenProvider.newTokenFamily();
             JwtResponse jwtResponse = new JwtResponse();
-            jwtResponse.setId(user.getId());
+            jwtResponse.setId(credentials.getId());
             jwtResponse.setEmail(email);
-            jwtResponse.setName(user.getName());
-            jwtResponse.setAccessToken(
-                    jwtTokenProvider.createAccessToken(email, user.getRoles(), user.getId()));
+            jwtResponse.setName(credentials.getName());
+            jwtResponse.setAccessToken(jwtTokenProvider.createAccessToken(
+                    email, credentials.getRoleNames(), credentials.getId(), tokenVersion, familyId));
             jwtResponse.setRefreshToken(
-                    jwtTokenProvider.createRefreshToken(user.getId(), email));
+                    jwtTokenProvider.createRefreshToken(credentials.getId(), email, tokenVersion, familyId));
 
-            log.info("Login successful for user: {} ({})", email, user.getId());
+            log.info("Login successful for user: {} ({})", email, credentials.getId());
             return jwtResponse;
 
-        } catch (DisabledException e) {
-            log.warn("Login failed - user disabled: {}", email);
-            throw e;
         } catch (BadCredentialsException e) {
             log.warn("Login failed - invalid credentials for: {}", email);
             throw e;
+        } catch (TooManyRequestsException e) {
+            log.warn("Login rejected - password hashing saturated for: {}", email);
+            throw e;
+        } catch (EmailNotConfirmedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Unexpected error during login for: {}", email, e);
             throw e;
@@ -75,21 +86,76 @@ public class AuthServiceImpl implements AuthService {
     }
 
     public void authenticate(String email, String password) {
+        verifyPassword(email, password);
+    }
+
+    /**
+     * Loads the credentials once and checks the password against them. Unknown emails
+     * still cost one hash so that they can not be told apart by response time.
+     */
+    private UserCredentials verifyPassword(String email, String password) {
         log.debug("Authenticating user: {}", email);
-        try {
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(email, password));
-            log.debug("Authentication successful for: {}", email);
-        } catch (DisabledException e) {
-            log.error("Authentication failed - user disabled: {}", email);
-            throw new DisabledException("USER_DISABLED", e);
-        } catch (BadCredentialsException e) {
+        UserCredentials credentials = userRepository.findCredentialsByEmail(email).orElse(null);
+
+        if (credentials == null) {
+            String pendingHash = findPendingPasswordHash(email);
+            if (pendingHash == null) {
+                passwordEncoder.matches(password, unknownUserHash());
+            } else if (passwordEncoder.matches(password, pendingHash)) {
+                log.warn("Authentication failed - registration not confirmed yet: {}", email);
+                throw new EmailNotConfirmedException("Email not confirmed. Please check your email for confirmation link.");
+            }
             log.error("Authentication failed - bad credentials for: {}", email);
-            throw new BadCredentialsException("INVALID_CREDENTIALS", e);
+            throw new BadCredentialsException("INVALID_CREDENTIALS");
+        }
+        if (!passwordEncoder.matches(password, credentials.getPassword())) {
+            log.error("Authentication failed - bad credentials for: {}", email);
+            throw new BadCredentialsException("INVALID_CREDENTIALS");
+        }
+
+        log.debug("Authentication successful for: {}", email);
+        return credentials;
+    }
+
+    private String findPendingPasswordHash(String email) {
+        try {
+            return pendingRegistrationService.find(email).map(User::getPassword).orElse(null);
+        } catch (Exception e) {
+            log.warn("Pending registrations unavailable while authenticating: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String unknownUserHash() {
+        String hash = unknownUserHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            unknownUserHash = hash;
         }
+        return hash;
     }
 
+    /**
+     * Re-encodes the password with the current algorithm and cost while the raw
+     * password is at hand. A failed upgrade does not fail the login.
+     */
+    private void upgradePasswordHash(UserCredentials credentials, String password) {
+        if (!passwordEncoder.upgradeEncoding(credentials.getPassword())) {
+            return;
+        }
+        try {
+            userService.upgradePasswordHash(credentials.getId(), passwordEncoder.encode(password));
+            log.info("Password hash upgraded for user: {}", credentials.getId());
+        } catch (Exception e) {
+            log.warn("Password hash upgrade failed for user: {}", credentials.getId(), e);
+        }
+    }
+
+    /**
+     * Stages the registration until its email is confirmed; the user is only written
+     * to {@code users} on confirmation.
+     */
     @Override
-    @Transactional
     public User createUser(User user) throws MessagingException {
         log.info("Creating new user with email: {}", user.getEmail());
 
@@ -98,17 +164,19 @@ public class AuthServiceImpl implements AuthService {
             throw new IllegalStateException("User already taken");
         }
 
-        user.setRoles(roleRepository.findByName("ROLE_USER"));
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setCreated(LocalDateTime.now());
         String confirmationCode = generateConfirmationCode();
         user.setConfirmationCode(confirmationCode);
         user.setEmailConfirmed(false);
 
-        User savedUser = userRepository.save(user);
-        log.info("User created successfully: {} ({})", savedUser.getEmail(), savedUser.getId());
+        if (!pendingRegistrationService.stage(user)) {
+            log.warn("User creation failed - registration already pending: {}", user.getEmail());
+            throw new IllegalStateException("User already taken");
+        }
+        log.info("Registration staged until email is confirmed: {}", user.getEmail());
 
-        return savedUser;
+        return user;
     }
 
     @Override
@@ -125,6 +193,43 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
+    @Override
+    public void logout(String refreshToken) {
+        log.debug("Revoking token family of refresh token");
+        jwtTokenProvider.revoke(refreshToken);
+    }
+
+    @Override
+    public Map<String, Object> getJwks() {
+        return jwtTokenProvider.getJwks();
+    }
+
+    @Override
+    public List<TokenIntrospection> introspect(List<String> tokens) {
+        log.debug("Introspecting {} tokens", tokens.size());
+        Map<String, TokenIntrospection> results = new HashMap<>();
+        return tokens.stream()
+                .map(token -> results.computeIfAbsent(token, this::introspectToken))
+                .toList();
+    }
+
+    private TokenIntrospection introspectToken(String token) {
+        Claims claims = jwtTokenProvider.introspect(token);
+        if (claims == null) {
+            return TokenIntrospection.builder().active(false).build();
+        }
+
+        List<?> roles = claims.get("roles", List.class);
+        return TokenIntrospection.builder()
+                .active(true)
+                .sub(claims.getSubject())
+                .id(UUID.fromString(claims.get("id", String.class)))
+                .roles(roles == null ? null : roles.stream().map(String::valueOf).toList())
+                .exp(claims.getExpiration().getTime() / 1000)
+                .iat(claims.getIssuedAt() == null ? null : claims.getIssuedAt().getTime() / 1000)
+                .build();
+    }
+
     private String generateConfirmationCode() {
         return UUID.randomUUID().toString().substring(0, 8);
     }
@@ -12,6 +12,7 @@ import org.thymeleaf.context.Context;
 import v1.foodDeliveryPlatform.model.User;
 import v1.foodDeliveryPlatform.model.enums.MailType;
 import v1.foodDeliveryPlatform.service.EmailService;
+import v1.foodDeliveryPlatform.service.PendingRegistrationService;
 import v1.foodDeliveryPlatform.service.UserService;
 
 import java.util.Properties;
@@ -24,6 +25,7 @@ public class EmailServiceImpl implements EmailService {
     private final TemplateEngine templateEngine;
     private final JavaMailSender mailSender;
     private final UserService userService;
+    private final PendingRegistrationService pendingRegistrationService;
 
     @Override
     public void sendEmail(User user, MailType type, Properties params) throws MessagingException {
@@ -85,19 +87,9 @@ public class EmailServiceImpl implements EmailService {
     }
 
     public void confirmEmail(String email, String confirmationCode) {
-        User user = userService.getByEmail(email);
-
-        if (user == null) {
-            throw new RuntimeException("User not found");
-        }
-
-        if (!confirmationCode.equals(user.getConfirmationCode())) {
-            throw new RuntimeException("Invalid confirmation code");
-        }
-
-        user.setEmailConfirmed(true);
-        user.setConfirmationCode(null);
-        userService.updateUser(user);
+        User user = pendingRegistrationService.find(email)
+                .map(pending -> promote(pending, confirmationCode))
+                .orElseGet(() -> confirmExisting(email, confirmationCode));
 
         log.info("Email confirmed for user: {}", email);
 
@@ -112,6 +104,36 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
+    private User promote(User pending, String confirmationCode) {
+        if (!confirmationCode.equals(pending.getConfirmationCode())) {
+            throw new RuntimeException("Invalid confirmation code");
+        }
+
+        User user = userService.createConfirmed(pending);
+        pendingRegistrationService.remove(pending.getEmail());
+        return user;
+    }
+
+    /**
+     * Users registered before staging, or imported, are already stored unconfirmed.
+     */
+    private User confirmExisting(String email, String confirmationCode) {
+        User user = userService.getByEmail(email);
+
+        if (user == null) {
+            throw new RuntimeException("User not found");
+        }
+
+        if (!confirmationCode.equals(user.getConfirmationCode())) {
+            throw new RuntimeException("Invalid confirmation code");
+        }
+
+        userService.confirmEmail(user.getId());
+        user.setEmailConfirmed(true);
+        user.setConfirmationCode(null);
+        return user;
+    }
+
     private void sendOrderReceiptEmail(User user, Properties params) throws MessagingException {
         String orderId = params.getProperty("orderId");
         log.debug("Starting order receipt email for order: {}, user: {}", orderId, user.getEmail());
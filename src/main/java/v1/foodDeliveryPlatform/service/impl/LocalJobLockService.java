@@ -0,0 +1,45 @@
+package v1.foodDeliveryPlatform.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import v1.foodDeliveryPlatform.service.JobLockService;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Single-node fallback: only keeps overlapping runs of the same job apart within
+ * this process.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "scheduling.lock", name = "store", havingValue = "local")
+public class LocalJobLockService implements JobLockService {
+
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public LocalJobLockService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean runExclusively(String job, Runnable task) {
+        ReentrantLock lock = locks.computeIfAbsent(job, j -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            meterRegistry.counter("scheduling.lock.skipped", "job", job).increment();
+            log.debug("Job {} is still running, skipping this tick", job);
+            return false;
+        }
+        try {
+            meterRegistry.counter("scheduling.lock.runs", "job", job, "node", "local").increment();
+            task.run();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
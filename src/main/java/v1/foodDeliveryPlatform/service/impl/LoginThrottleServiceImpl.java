@@ -0,0 +1,148 @@
+package v1.foodDeliveryPlatform.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
+import v1.foodDeliveryPlatform.security.props.LoginThrottleProps;
+import v1.foodDeliveryPlatform.service.LoginThrottleService;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits login attempts per email and per client IP. Every node first consumes from
+ * its own token buckets, so bursts are rejected without leaving the process, and only
+ * then records the attempt in a Redis sliding window shared by all nodes.
+ */
+@Service
+@Slf4j
+public class LoginThrottleServiceImpl implements LoginThrottleService {
+
+    private static final String KEY_PREFIX = "auth:login-attempts:";
+    private static final String EMAIL = "email";
+    private static final String IP = "ip";
+
+    /**
+     * Drops attempts older than the window and records the new one only if every key is
+     * still under its limit. Returns 0 when allowed, otherwise the index of the key that
+     * hit its limit.
+     */
+    private static final RedisScript<Long> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local window = tonumber(ARGV[1])
+            for i, key in ipairs(KEYS) do
+                redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window)
+                if redis.call('ZCARD', key) >= tonumber(ARGV[2 + i]) then
+                    return i
+                end
+            end
+            for _, key in ipairs(KEYS) do
+                redis.call('ZADD', key, now, ARGV[2])
+                redis.call('PEXPIRE', key, window)
+            end
+            return 0
+            """, Long.class);
+
+    private final LoginThrottleProps props;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+
+    public LoginThrottleServiceImpl(LoginThrottleProps props,
+                                    StringRedisTemplate redisTemplate,
+                                    MeterRegistry meterRegistry) {
+        this.props = props;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(props.getMaxTrackedKeys())
+                .expireAfterAccess(props.getWindow())
+                .build();
+    }
+
+    @Override
+    public void checkLoginAllowed(String email, String clientIp) {
+        if (!props.isEnabled()) {
+            return;
+        }
+
+        String emailKey = EMAIL + ":" + email.trim().toLowerCase(Locale.ROOT);
+        String ipKey = IP + ":" + clientIp;
+
+        consumeLocal(emailKey, EMAIL, props.getEmailLimit());
+        consumeLocal(ipKey, IP, props.getIpLimit());
+        recordShared(emailKey, ipKey);
+    }
+
+    private void consumeLocal(String key, String scope, int limit) {
+        long waitNanos = buckets.get(key, k -> new TokenBucket(limit, props.getWindow().toNanos()))
+                .tryConsume();
+        if (waitNanos > 0) {
+            reject(scope, "local", TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        }
+    }
+
+    private void recordShared(String emailKey, String ipKey) {
+        Long result;
+        try {
+            result = redisTemplate.execute(SLIDING_WINDOW_SCRIPT,
+                    List.of(KEY_PREFIX + emailKey, KEY_PREFIX + ipKey),
+                    String.valueOf(props.getWindow().toMillis()),
+                    UUID.randomUUID().toString(),
+                    String.valueOf(props.getEmailLimit()),
+                    String.valueOf(props.getIpLimit()));
+        } catch (Exception e) {
+            meterRegistry.counter("auth.login.throttle.errors").increment();
+            log.warn("Login throttle window unavailable, relying on local buckets: {}", e.getMessage());
+            return;
+        }
+
+        if (result != null && result > 0) {
+            reject(result == 1 ? EMAIL : IP, "redis", props.getWindow().toSeconds());
+        }
+    }
+
+    private void reject(String scope, String tier, long retryAfterSeconds) {
+        meterRegistry.counter("auth.login.throttled", "scope", scope, "tier", tier).increment();
+        log.warn("Login attempt throttled by {} limit ({})", scope, tier);
+        throw new TooManyRequestsException("Too many login attempts, please try again later", retryAfterSeconds);
+    }
+
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        private TokenBucket(int capacity, long windowNanos) {
+            this.capacity = capacity;
+            this.tokensPerNano = (double) capacity / windowNanos;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        /**
+         * Takes a token and returns 0, or returns the nanoseconds until one is available.
+         */
+        synchronized long tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
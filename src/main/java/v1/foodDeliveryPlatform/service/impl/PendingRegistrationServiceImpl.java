@@ -0,0 +1,100 @@
+package v1.foodDeliveryPlatform.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import v1.foodDeliveryPlatform.config.props.RegistrationProps;
+import v1.foodDeliveryPlatform.model.User;
+import v1.foodDeliveryPlatform.service.PendingRegistrationService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps unconfirmed registrations in Redis hashes that expire on their own, so
+ * abandoned sign-ups never reach the {@code users} table.
+ */
+@Service
+@Slf4j
+public class PendingRegistrationServiceImpl implements PendingRegistrationService {
+
+    private static final String KEY_PREFIX = "auth:pending-registration:";
+    private static final String EMAIL = "email";
+    private static final String NAME = "name";
+    private static final String PASSWORD = "password";
+    private static final String CODE = "code";
+    private static final String CREATED = "created";
+
+    private static final RedisScript<Long> STAGE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'email', ARGV[1], 'name', ARGV[2], 'password', ARGV[3],
+                    'code', ARGV[4], 'created', ARGV[5])
+            redis.call('PEXPIRE', KEYS[1], ARGV[6])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RegistrationProps props;
+    private final Counter staged;
+
+    public PendingRegistrationServiceImpl(StringRedisTemplate redisTemplate,
+                                          RegistrationProps props,
+                                          MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.props = props;
+        this.staged = Counter.builder("auth.registration.staged")
+                .description("Registrations waiting for email confirmation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean stage(User user) {
+        Long result = redisTemplate.execute(STAGE_SCRIPT, List.of(key(user.getEmail())),
+                user.getEmail(),
+                user.getName(),
+                user.getPassword(),
+                user.getConfirmationCode(),
+                user.getCreated().toString(),
+                String.valueOf(props.getPendingTtl().toMillis()));
+        if (result == null || result == 0) {
+            return false;
+        }
+        staged.increment();
+        log.debug("Registration staged for {} until {}", user.getEmail(), props.getPendingTtl());
+        return true;
+    }
+
+    @Override
+    public Optional<User> find(String email) {
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(key(email));
+        if (fields.isEmpty()) {
+            return Optional.empty();
+        }
+
+        User user = new User();
+        user.setEmail((String) fields.get(EMAIL));
+        user.setName((String) fields.get(NAME));
+        user.setPassword((String) fields.get(PASSWORD));
+        user.setConfirmationCode((String) fields.get(CODE));
+        user.setCreated(LocalDateTime.parse((String) fields.get(CREATED)));
+        user.setEmailConfirmed(false);
+        return Optional.of(user);
+    }
+
+    @Override
+    public void remove(String email) {
+        redisTemplate.delete(key(email));
+    }
+
+    private static String key(String email) {
+        return KEY_PREFIX + email;
+    }
+}
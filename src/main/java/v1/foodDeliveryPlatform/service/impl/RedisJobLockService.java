@@ -0,0 +1,148 @@
+package v1.foodDeliveryPlatform.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import v1.foodDeliveryPlatform.config.props.JobLockProps;
+import v1.foodDeliveryPlatform.service.JobLockService;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leases scheduled jobs through Redis: a run takes {@code SET NX PX} on the job key,
+ * renews it while running and hands it back only if it still owns it.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "scheduling.lock", name = "store", havingValue = "redis", matchIfMissing = true)
+public class RedisJobLockService implements JobLockService {
+
+    private static final String KEY_PREFIX = "scheduling:lock:";
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    /**
+     * Keeps the lease for the rest of the minimum hold time, or deletes it when that
+     * has already passed.
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+                return 0
+            end
+            if tonumber(ARGV[2]) > 0 then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JobLockProps props;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final ScheduledExecutorService renewer;
+
+    public RedisJobLockService(StringRedisTemplate redisTemplate,
+                               JobLockProps props,
+                               MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = StringUtils.hasText(props.getNodeId()) ? props.getNodeId() : hostName();
+        this.renewer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("job-lock-renewer").daemon(true).factory());
+    }
+
+    @Override
+    public boolean runExclusively(String job, Runnable task) {
+        String key = KEY_PREFIX + job;
+        String token = nodeId + ":" + UUID.randomUUID();
+
+        Boolean acquired;
+        try {
+            acquired = redisTemplate.opsForValue().setIfAbsent(key, token, props.getLeaseTime());
+        } catch (Exception e) {
+            meterRegistry.counter("scheduling.lock.errors", "job", job).increment();
+            log.warn("Could not take lease for job {}, skipping this tick: {}", job, e.getMessage());
+            return false;
+        }
+        if (!Boolean.TRUE.equals(acquired)) {
+            meterRegistry.counter("scheduling.lock.skipped", "job", job).increment();
+            log.debug("Job {} is leased by another node, skipping this tick", job);
+            return false;
+        }
+
+        long startedAt = System.nanoTime();
+        long renewMillis = props.getRenewEvery().toMillis();
+        ScheduledFuture<?> renewal = renewer.scheduleAtFixedRate(
+                () -> renew(job, key, token), renewMillis, renewMillis, TimeUnit.MILLISECONDS);
+        try {
+            meterRegistry.counter("scheduling.lock.runs", "job", job, "node", nodeId).increment();
+            log.debug("Job {} leased by node {}", job, nodeId);
+            task.run();
+            return true;
+        } finally {
+            renewal.cancel(false);
+            Duration held = Duration.ofNanos(System.nanoTime() - startedAt);
+            release(job, key, token, props.getMinHold().minus(held));
+        }
+    }
+
+    private void renew(String job, String key, String token) {
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(key),
+                    token, String.valueOf(props.getLeaseTime().toMillis()));
+            if (renewed == null || renewed == 0) {
+                meterRegistry.counter("scheduling.lock.lost", "job", job).increment();
+                log.warn("Lease for job {} was lost while running on node {}", job, nodeId);
+            }
+        } catch (Exception e) {
+            log.warn("Could not renew lease for job {}: {}", job, e.getMessage());
+        }
+    }
+
+    private void release(String job, String key, String token, Duration remainingHold) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(key),
+                    token, String.valueOf(Math.max(0, remainingHold.toMillis())));
+        } catch (Exception e) {
+            log.warn("Could not release lease for job {}, it expires after {}: {}",
+                    job, props.getLeaseTime(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    private static String hostName() {
+        String hostName = System.getenv("HOSTNAME");
+        if (StringUtils.hasText(hostName)) {
+            return hostName;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return UUID.randomUUID().toString();
+        }
+    }
+}
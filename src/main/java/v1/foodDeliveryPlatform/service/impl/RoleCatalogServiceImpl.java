@@ -0,0 +1,83 @@
+package v1.foodDeliveryPlatform.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import v1.foodDeliveryPlatform.model.Role;
+import v1.foodDeliveryPlatform.repository.RoleRepository;
+import v1.foodDeliveryPlatform.service.RoleCatalogService;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of the role table, loaded at startup and reloaded periodically.
+ * Role lookups and authority checks never reach the database.
+ * <p>
+ * The application never writes to {@code role}: roles are added only by Liquibase
+ * changesets, which run before this bean loads on every node that ships them. No
+ * change event exists to publish, so the periodic reload only picks up manual edits
+ * and nodes still on the previous release. Those nodes keep working in the meantime,
+ * because {@link #getAuthority(String)} falls back to a fresh authority for unknown
+ * names. If roles ever become writable at runtime, the writer should publish a reload
+ * the way {@code TokenVersionService} does.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoleCatalogServiceImpl implements RoleCatalogService {
+
+    private final RoleRepository roleRepository;
+
+    private volatile Catalog catalog = new Catalog(Map.of(), Map.of());
+
+    @PostConstruct
+    @Override
+    @Scheduled(fixedDelayString = "PT10M", initialDelayString = "PT10M")
+    public void refresh() {
+        List<Role> roles = roleRepository.findAll();
+        Map<String, Role> byName = roles.stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity()));
+        Map<String, GrantedAuthority> authorities = roles.stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getName, role -> new SimpleGrantedAuthority(role.getName())));
+
+        if (!byName.equals(catalog.roles())) {
+            log.info("Role catalog loaded: {}", byName.keySet());
+        }
+        catalog = new Catalog(byName, authorities);
+    }
+
+    /**
+     * Returns a copy of the role with the given name, ready to be assigned to a user,
+     * or an empty set for an unknown name.
+     */
+    @Override
+    public Set<Role> getRoles(String name) {
+        Role role = catalog.roles().get(name);
+        Set<Role> roles = new HashSet<>();
+        if (role != null) {
+            roles.add(new Role(role.getId(), role.getName()));
+        }
+        return roles;
+    }
+
+    /**
+     * Returns the shared authority instance of a known role.
+     */
+    @Override
+    public GrantedAuthority getAuthority(String name) {
+        GrantedAuthority authority = catalog.authorities().get(name);
+        return authority != null ? authority : new SimpleGrantedAuthority(name);
+    }
+
+    private record Catalog(Map<String, Role> roles, Map<String, GrantedAuthority> authorities) {
+    }
+}
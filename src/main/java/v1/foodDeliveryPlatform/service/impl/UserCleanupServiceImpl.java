@@ -1,39 +1,101 @@
 package v1.foodDeliveryPlatform.service.impl;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import v1.foodDeliveryPlatform.model.User;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import v1.foodDeliveryPlatform.config.props.UserCleanupProps;
+import v1.foodDeliveryPlatform.repository.AddressRepository;
 import v1.foodDeliveryPlatform.repository.UserRepository;
+import v1.foodDeliveryPlatform.service.JobLockService;
 import v1.foodDeliveryPlatform.service.UserCleanupService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * Deletes expired unconfirmed registrations in short, bounded transactions so a
+ * registration spike never turns into one long lock on {@code users}.
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class UserCleanupServiceImpl implements UserCleanupService {
 
+    private static final String JOB = "user-cleanup";
+
     private final UserRepository userRepository;
+    private final AddressRepository addressRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLockService jobLockService;
+    private final UserCleanupProps props;
+    private final DistributionSummary deletedPerRun;
+    private final Timer duration;
+
+    public UserCleanupServiceImpl(UserRepository userRepository,
+                                  AddressRepository addressRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  JobLockService jobLockService,
+                                  UserCleanupProps props,
+                                  MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.addressRepository = addressRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobLockService = jobLockService;
+        this.props = props;
+        this.deletedPerRun = DistributionSummary.builder("users.cleanup.deleted")
+                .description("Unconfirmed users deleted per cleanup run")
+                .register(meterRegistry);
+        this.duration = Timer.builder("users.cleanup.duration")
+                .description("Time taken by one cleanup run")
+                .register(meterRegistry);
+    }
 
     public void cleanupUnconfirmedUsers() {
-        LocalDateTime temp = LocalDateTime.now().minusMinutes(5);
+        LocalDateTime before = LocalDateTime.now().minus(props.getUnconfirmedTtl());
+        Timer.Sample sample = Timer.start();
 
-        List<User> unconfirmedUsers = userRepository
-                .findByEmailConfirmedFalseAndCreatedAtBefore(temp);
+        int deleted = 0;
+        int chunks = 0;
+        int chunkDeleted;
+        do {
+            chunkDeleted = deleteChunk(before);
+            deleted += chunkDeleted;
+            chunks++;
+        } while (chunkDeleted == props.getChunkSize() && chunks < props.getMaxChunksPerRun());
 
-        if (!unconfirmedUsers.isEmpty()) {
-            userRepository.deleteAll(unconfirmedUsers);
-            log.info("Auto-cleaned {} unconfirmed users older than 5 min",
-                    unconfirmedUsers.size());
+        sample.stop(duration);
+        deletedPerRun.record(deleted);
+        if (deleted > 0) {
+            log.info("Auto-cleaned {} unconfirmed users older than {} in {} chunks",
+                    deleted, props.getUnconfirmedTtl(), chunks);
         }
+        if (chunkDeleted == props.getChunkSize()) {
+            log.warn("Cleanup stopped after {} chunks, remaining unconfirmed users are left for the next run",
+                    chunks);
+        }
+    }
+
+    private int deleteChunk(LocalDateTime before) {
+        Integer deleted = transactionTemplate.execute(status -> {
+            List<UUID> ids = userRepository.lockUnconfirmedIdsCreatedBefore(before, props.getChunkSize());
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            userRepository.deleteRolesByUserIdIn(ids);
+            addressRepository.deleteByUserIdIn(ids);
+            return userRepository.deleteDirectlyByIdIn(ids);
+        });
+        return deleted == null ? 0 : deleted;
     }
 
     @Scheduled(cron = "0 */5 * * * ?")
     public void autoCleanup() {
         log.debug("Starting automatic cleanup of unconfirmed users");
-        cleanupUnconfirmedUsers();
+        jobLockService.runExclusively(JOB, this::cleanupUnconfirmedUsers);
     }
 }
@@ -0,0 +1,247 @@
+package v1.foodDeliveryPlatform.service.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import v1.foodDeliveryPlatform.config.props.UserExportProps;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
+import v1.foodDeliveryPlatform.model.enums.DataFormat;
+import v1.foodDeliveryPlatform.service.UserExportService;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams users from a server-side cursor straight into the response, so memory use
+ * does not depend on the table size. A semaphore bounds how many exports may hold a
+ * pooled connection at the same time.
+ */
+@Service
+@Slf4j
+public class UserExportServiceImpl implements UserExportService {
+
+    private static final String EXPORT_QUERY = """
+            SELECT u.id, u.email, u.full_name, u.email_confirmed, u.created_at,
+                   (SELECT string_agg(r.name, ',')
+                    FROM user_role ur JOIN role r ON r.id = ur.role_id
+                    WHERE ur.user_id = u.id) AS roles
+            FROM users u
+            ORDER BY u.created_at, u.id
+            """;
+    private static final String CSV_HEADER = "id,email,name,email_confirmed,created_at,roles";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UserExportProps props;
+    private final Semaphore permits;
+    private final Counter exportedRows;
+    private final Counter rejected;
+    private final Timer duration;
+
+    public UserExportServiceImpl(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 UserExportProps props,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(props.getFetchSize());
+        this.jdbcTemplate.setQueryTimeout((int) props.getQueryTimeout().toSeconds());
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.props = props;
+        this.permits = new Semaphore(props.getMaxConcurrent());
+        this.exportedRows = Counter.builder("users.export.rows")
+                .description("Users written by exports")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("users.export.rejected")
+                .description("Exports rejected because all export slots were taken")
+                .register(meterRegistry);
+        this.duration = Timer.builder("users.export.duration")
+                .description("Time taken to stream a full export")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Export startExport(DataFormat format) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            log.warn("User export rejected - {} exports already running", props.getMaxConcurrent());
+            throw new TooManyRequestsException("Too many exports running, please try again later", 30);
+        }
+
+        return new SlotExport(format);
+    }
+
+    /**
+     * Holds one export slot until it is written or released, whichever comes first.
+     */
+    private final class SlotExport implements Export {
+
+        private final DataFormat format;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private SlotExport(DataFormat format) {
+            this.format = format;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            if (released.get()) {
+                throw new IllegalStateException("Export slot was already released");
+            }
+            Timer.Sample sample = Timer.start();
+            try {
+                long rows = transactionTemplate.execute(status -> stream(format, out));
+                log.info("User export finished - format: {}, rows: {}", format, rows);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                sample.stop(duration);
+                release();
+            }
+        }
+
+        @Override
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    private long stream(DataFormat format, OutputStream out) {
+        try {
+            RowWriter writer = format == DataFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+            long[] rows = {0};
+            jdbcTemplate.query(EXPORT_QUERY, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(rs);
+                    if (++rows[0] % props.getFlushEvery() == 0) {
+                        writer.flush();
+                        exportedRows.increment(props.getFlushEvery());
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.close();
+            exportedRows.increment(rows[0] % props.getFlushEvery());
+            return rows[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface RowWriter {
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void flush() throws IOException;
+
+        void close() throws IOException;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            Timestamp created = rs.getTimestamp("created_at");
+            generator.writeStartObject();
+            generator.writeStringField("id", rs.getString("id"));
+            generator.writeStringField("email", rs.getString("email"));
+            generator.writeStringField("name", rs.getString("full_name"));
+            generator.writeBooleanField("emailConfirmed", rs.getBoolean("email_confirmed"));
+            generator.writeStringField("createdAt", created == null ? null : created.toLocalDateTime().toString());
+            generator.writeStringField("roles", rs.getString("roles"));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.writer.write(CSV_HEADER);
+            this.writer.write('\n');
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            Timestamp created = rs.getTimestamp("created_at");
+            writer.write(rs.getString("id"));
+            writer.write(',');
+            writer.write(escape(rs.getString("email")));
+            writer.write(',');
+            writer.write(escape(rs.getString("full_name")));
+            writer.write(',');
+            writer.write(Boolean.toString(rs.getBoolean("email_confirmed")));
+            writer.write(',');
+            writer.write(created == null ? "" : created.toLocalDateTime().toString());
+            writer.write(',');
+            writer.write(escape(rs.getString("roles")));
+            writer.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,552 @@
+package v1.foodDeliveryPlatform.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import v1.foodDeliveryPlatform.config.props.UserImportProps;
+import v1.foodDeliveryPlatform.dto.model.ImportReport;
+import v1.foodDeliveryPlatform.exception.PayloadTooLargeException;
+import v1.foodDeliveryPlatform.exception.ResourceNotFoundException;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
+import v1.foodDeliveryPlatform.model.Role;
+import v1.foodDeliveryPlatform.model.User;
+import v1.foodDeliveryPlatform.model.enums.DataFormat;
+import v1.foodDeliveryPlatform.model.enums.MailType;
+import v1.foodDeliveryPlatform.security.crypto.BoundedPasswordEncoder;
+import v1.foodDeliveryPlatform.service.EmailService;
+import v1.foodDeliveryPlatform.service.RoleCatalogService;
+import v1.foodDeliveryPlatform.service.UserImportService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Imports users from CSV or NDJSON in batches: rows are deduplicated against the file
+ * and the database, passwords are hashed on a dedicated pool and users are written
+ * with JDBC batch inserts. Confirmation emails are sent from a bounded queue after
+ * each batch commits.
+ */
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final String FIND_EXISTING = "SELECT email FROM users WHERE email IN (:emails)";
+    private static final String INSERT_USER = """
+            INSERT INTO users (id, email, password_hash, full_name, confirmation_code,
+                               email_confirmed, created_at, updated_at, token_version, source)
+            VALUES (?, ?, ?, ?, ?, false, ?, ?, 0, 'IMPORT')
+            """;
+    private static final String INSERT_USER_ROLE = "INSERT INTO user_role (user_id, role_id) VALUES (?, ?)";
+    private static final String USER_ROLE = "ROLE_USER";
+    private static final Pattern EMAIL = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final RoleCatalogService roleCatalogService;
+    private final EmailService emailService;
+    private final ObjectMapper objectMapper;
+    private final UserImportProps props;
+    private final ThreadPoolExecutor jobExecutor;
+    private final ExecutorService hashingPool;
+    private final ThreadPoolExecutor mailExecutor;
+    private final Cache<UUID, ImportProgress> jobs;
+    private final Counter importedRows;
+    private final Counter duplicateRows;
+    private final Counter invalidRows;
+    private final Counter mailFailures;
+    private final Timer batchTimer;
+
+    public UserImportServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 PasswordEncoder passwordEncoder,
+                                 RoleCatalogService roleCatalogService,
+                                 EmailService emailService,
+                                 ObjectMapper objectMapper,
+                                 UserImportProps props,
+                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.getDelegate()
+                : passwordEncoder;
+        this.roleCatalogService = roleCatalogService;
+        this.emailService = emailService;
+        this.objectMapper = objectMapper;
+        this.props = props;
+        this.jobExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.getMaxQueuedJobs()),
+                Thread.ofPlatform().name("user-import-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hashingPool = Executors.newFixedThreadPool(props.getHashingThreads(),
+                Thread.ofPlatform().name("user-import-hashing-", 0).daemon(true).factory());
+        this.mailExecutor = new ThreadPoolExecutor(props.getMailThreads(), props.getMailThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.getMailQueueCapacity()),
+                Thread.ofPlatform().name("user-import-mail-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(props.getReportRetention())
+                .maximumSize(1_000)
+                .build();
+
+        this.importedRows = rowCounter(meterRegistry, "imported");
+        this.duplicateRows = rowCounter(meterRegistry, "duplicate");
+        this.invalidRows = rowCounter(meterRegistry, "invalid");
+        this.mailFailures = Counter.builder("users.import.mail.failures")
+                .description("Confirmation emails of imported users that could not be sent")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("users.import.batch")
+                .description("Time taken to deduplicate, hash and insert one import batch")
+                .register(meterRegistry);
+        Gauge.builder("users.import.mail.queue", mailExecutor, e -> e.getQueue().size())
+                .description("Confirmation emails of imported users waiting to be sent")
+                .register(meterRegistry);
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("users.import.rows")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ImportReport startImport(DataFormat format, InputStream body, long contentLength) throws IOException {
+        long maxSize = props.getMaxImportSize().toBytes();
+        if (jobExecutor.getQueue().remainingCapacity() == 0) {
+            throw queueFull();
+        }
+        if (contentLength > maxSize) {
+            throw tooLarge();
+        }
+        long expectedSize = contentLength >= 0 ? contentLength : maxSize;
+        Path tempDir = Path.of(System.getProperty("java.io.tmpdir"));
+        if (Files.getFileStore(tempDir).getUsableSpace() - expectedSize < props.getMinFreeDiskSpace().toBytes()) {
+            log.warn("User import rejected - not enough free disk space in {}", tempDir);
+            throw new TooManyRequestsException("Not enough disk space to queue the import, please try again later", 60);
+        }
+
+        Path file = Files.createTempFile("user-import-", "." + format.getExtension());
+        try {
+            spool(body, file, maxSize);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportProgress progress = new ImportProgress(UUID.randomUUID());
+        jobs.put(progress.id, progress);
+        try {
+            jobExecutor.execute(() -> run(progress, format, file));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(progress.id);
+            Files.deleteIfExists(file);
+            throw queueFull();
+        }
+
+        log.info("User import {} queued - format: {}, size: {} bytes", progress.id, format, Files.size(file));
+        return progress.toReport();
+    }
+
+    /**
+     * Copies the body to the file and stops as soon as it grows past {@code maxSize}, so
+     * an undeclared or lying {@code Content-Length} cannot fill the disk.
+     */
+    private static void spool(InputStream body, Path file, long maxSize) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[8192];
+            long total = 0;
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > maxSize) {
+                    throw tooLarge();
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private TooManyRequestsException queueFull() {
+        log.warn("User import rejected - {} imports already queued", props.getMaxQueuedJobs());
+        return new TooManyRequestsException("Too many imports queued, please try again later", 60);
+    }
+
+    private static PayloadTooLargeException tooLarge() {
+        return new PayloadTooLargeException("Import is larger than the allowed size");
+    }
+
+    @Override
+    public ImportReport getReport(UUID id) {
+        ImportProgress progress = jobs.getIfPresent(id);
+        if (progress == null) {
+            throw new ResourceNotFoundException("Import not found");
+        }
+        return progress.toReport();
+    }
+
+    private void run(ImportProgress progress, DataFormat format, Path file) {
+        progress.start();
+        log.info("User import {} started", progress.id);
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            RowReader rows = format == DataFormat.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+            List<ImportRow> batch = new ArrayList<>(props.getBatchSize());
+            ImportRow row;
+            while ((row = rows.next()) != null) {
+                batch.add(row);
+                if (batch.size() == props.getBatchSize()) {
+                    importBatch(batch, progress);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                importBatch(batch, progress);
+            }
+
+            progress.finish(ImportStatus.COMPLETED, null);
+            log.info("User import {} completed - {}", progress.id, progress.toReport());
+        } catch (Exception e) {
+            progress.finish(ImportStatus.FAILED, e.getMessage());
+            log.error("User import {} failed after {} rows", progress.id, progress.processed.get(), e);
+        } finally {
+            jobs.put(progress.id, progress);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file: {}", file, e);
+            }
+        }
+    }
+
+    private void importBatch(List<ImportRow> rows, ImportProgress progress) {
+        Timer.Sample sample = Timer.start();
+
+        Map<String, ImportRow> unique = new LinkedHashMap<>();
+        long invalid = 0;
+        long duplicates = 0;
+        for (ImportRow row : rows) {
+            if (!row.isValid()) {
+                invalid++;
+            } else if (unique.putIfAbsent(row.email(), row) != null) {
+                duplicates++;
+            }
+        }
+        duplicates += removeExisting(unique);
+
+        List<User> users = hash(unique.values());
+        try {
+            insert(users);
+        } catch (DuplicateKeyException e) {
+            log.warn("User import {} batch collided with concurrent registrations, retrying", progress.id);
+            duplicates += removeExisting(unique);
+            users = users.stream().filter(user -> unique.containsKey(user.getEmail())).toList();
+            insert(users);
+        }
+
+        progress.processed.addAndGet(rows.size());
+        progress.imported.addAndGet(users.size());
+        progress.duplicates.addAndGet(duplicates);
+        progress.invalid.addAndGet(invalid);
+        importedRows.increment(users.size());
+        duplicateRows.increment(duplicates);
+        invalidRows.increment(invalid);
+
+        users.forEach(this::queueConfirmationEmail);
+        sample.stop(batchTimer);
+        log.debug("User import {} batch done - imported: {}, duplicates: {}, invalid: {}",
+                progress.id, users.size(), duplicates, invalid);
+    }
+
+    private int removeExisting(Map<String, ImportRow> unique) {
+        if (unique.isEmpty()) {
+            return 0;
+        }
+        List<String> existing = jdbcTemplate.queryForList(
+                FIND_EXISTING, Map.of("emails", unique.keySet()), String.class);
+        existing.forEach(unique::remove);
+        return existing.size();
+    }
+
+    private List<User> hash(Collection<ImportRow> rows) {
+        List<CompletableFuture<User>> users = rows.stream()
+                .map(row -> CompletableFuture.supplyAsync(() -> toUser(row), hashingPool))
+                .toList();
+        return users.stream().map(CompletableFuture::join).toList();
+    }
+
+    private User toUser(ImportRow row) {
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(row.email());
+        user.setName(row.name());
+        user.setPassword(passwordEncoder.encode(row.password()));
+        user.setConfirmationCode(UUID.randomUUID().toString().substring(0, 8));
+        user.setEmailConfirmed(false);
+        user.setCreated(now);
+        user.setUpdated(now);
+        return user;
+    }
+
+    private void insert(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        Long roleId = roleCatalogService.getRoles(USER_ROLE).stream()
+                .map(Role::getId)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Role " + USER_ROLE + " is not configured"));
+
+        List<Object[]> userRows = users.stream()
+                .map(user -> new Object[]{
+                        user.getId(), user.getEmail(), user.getPassword(), user.getName(),
+                        user.getConfirmationCode(),
+                        Timestamp.valueOf(user.getCreated()), Timestamp.valueOf(user.getUpdated())})
+                .toList();
+        List<Object[]> roleRows = users.stream()
+                .map(user -> new Object[]{user.getId(), roleId})
+                .toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_USER, userRows);
+            jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_USER_ROLE, roleRows);
+        });
+    }
+
+    private void queueConfirmationEmail(User user) {
+        mailExecutor.execute(() -> {
+            try {
+                emailService.sendEmail(user, MailType.REGISTRATION, new Properties());
+            } catch (Exception e) {
+                mailFailures.increment();
+                log.warn("Confirmation email for imported user {} failed", user.getEmail(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        hashingPool.shutdownNow();
+        mailExecutor.shutdown();
+    }
+
+    private enum ImportStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private record ImportRow(String email, String password, String name) {
+
+        private ImportRow {
+            email = email == null ? null : email.trim();
+            name = name == null ? null : name.trim();
+        }
+
+        private boolean isValid() {
+            return email != null && email.length() <= 255 && EMAIL.matcher(email).matches()
+                    && password != null && !password.isBlank()
+                    && name != null && !name.isEmpty() && name.length() <= 255;
+        }
+    }
+
+    private interface RowReader {
+        ImportRow next() throws IOException;
+    }
+
+    /**
+     * Reads rows with an {@code email,password,name} header in any column order. Quoted
+     * fields may contain commas and doubled quotes but not line breaks.
+     */
+    private static final class CsvRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private final int email;
+        private final int password;
+        private final int name;
+
+        private CsvRowReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            String header = reader.readLine();
+            Map<String, Integer> columns = new HashMap<>();
+            if (header != null) {
+                List<String> names = parseLine(header.replace("\uFEFF", ""));
+                for (int i = 0; i < names.size(); i++) {
+                    columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+                }
+            }
+            if (!columns.containsKey("email") || !columns.containsKey("password") || !columns.containsKey("name")) {
+                throw new IllegalStateException("CSV header must contain email, password and name");
+            }
+            this.email = columns.get("email");
+            this.password = columns.get("password");
+            this.name = columns.get("name");
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            List<String> fields = parseLine(line);
+            return new ImportRow(field(fields, email), field(fields, password), field(fields, name));
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index < fields.size() ? fields.get(index) : null;
+        }
+
+        private static List<String> parseLine(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private final class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+
+        private NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                return new ImportRow(
+                        node.path("email").textValue(),
+                        node.path("password").textValue(),
+                        node.path("name").textValue());
+            } catch (JsonProcessingException e) {
+                return new ImportRow(null, null, null);
+            }
+        }
+    }
+
+    private static final class ImportProgress {
+
+        private final UUID id;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong duplicates = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private volatile ImportStatus status = ImportStatus.QUEUED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private ImportProgress(UUID id) {
+            this.id = id;
+        }
+
+        private void start() {
+            startedAt = Instant.now();
+            status = ImportStatus.RUNNING;
+        }
+
+        private void finish(ImportStatus finalStatus, String failure) {
+            finishedAt = Instant.now();
+            error = failure;
+            status = finalStatus;
+        }
+
+        private ImportReport toReport() {
+            double rowsPerSecond = 0;
+            if (startedAt != null) {
+                Instant end = finishedAt != null ? finishedAt : Instant.now();
+                long millis = Duration.between(startedAt, end).toMillis();
+                rowsPerSecond = millis > 0 ? processed.get() * 1000.0 / millis : 0;
+            }
+            return ImportReport.builder()
+                    .id(id)
+                    .status(status.name())
+                    .processed(processed.get())
+                    .imported(imported.get())
+                    .duplicates(duplicates.get())
+                    .invalid(invalid.get())
+                    .rowsPerSecond(rowsPerSecond)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
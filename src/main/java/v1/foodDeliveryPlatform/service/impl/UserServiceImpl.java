@@ -2,18 +2,21 @@ package v1.foodDeliveryPlatform.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RequestMethod;
+import v1.foodDeliveryPlatform.cache.UserCacheInvalidator;
 import v1.foodDeliveryPlatform.exception.ResourceNotFoundException;
 import v1.foodDeliveryPlatform.model.User;
-import v1.foodDeliveryPlatform.repository.RoleRepository;
+import v1.foodDeliveryPlatform.model.UserCursor;
+import v1.foodDeliveryPlatform.model.UserPage;
 import v1.foodDeliveryPlatform.repository.UserRepository;
+import v1.foodDeliveryPlatform.security.token.TokenVersionService;
+import v1.foodDeliveryPlatform.service.RoleCatalogService;
 import v1.foodDeliveryPlatform.service.UserService;
 
 import java.time.LocalDateTime;
@@ -25,13 +28,17 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    static final int MAX_PAGE_SIZE = 200;
+
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
+    private final RoleCatalogService roleCatalogService;
     private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
+    private final UserCacheInvalidator userCacheInvalidator;
 
     @Override
     @Transactional
-    @Cacheable(value = "users", key = "#id")
+    @Cacheable(value = "users", key = "#id", sync = true)
     @CrossOrigin(origins = "http://localhost:5173",
             methods = {RequestMethod.GET, RequestMethod.POST,
                     RequestMethod.PUT, RequestMethod.DELETE,
@@ -40,7 +47,7 @@ public class UserServiceImpl implements UserService {
             allowCredentials = "true")
     public User getById(UUID id) {
         log.debug("Fetching user from database by ID: {}", id);
-        User user = userRepository.findById(id).orElseThrow(() -> {
+        User user = userRepository.findProfileById(id).orElseThrow(() -> {
             log.warn("User not found with ID: {}", id);
             return new ResourceNotFoundException("User not found");
         });
@@ -50,10 +57,6 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "users", key = "#user.id"),
-            @CacheEvict(value = "users_by_email", key = "#result.email")
-    })
     public User updateUser(User user) {
 
         log.info("Updating user with ID: {}", user.getId());
@@ -66,19 +69,18 @@ public class UserServiceImpl implements UserService {
         currentUser.setUpdated(LocalDateTime.now());
 
         User updatedUser = userRepository.save(currentUser);
+        userCacheInvalidator.evictUser(updatedUser.getId());
         log.info("User successfully updated: {} ({})", updatedUser.getEmail(), updatedUser.getId());
         return updatedUser;
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(value = "users", key = "#id"),
-            @CacheEvict(value = "users_by_email", allEntries = true)
-    })
     public void delete(UUID id) {
         log.info("Deleting user with ID: {}", id);
         try {
             userRepository.deleteById(id);
+            tokenVersionService.invalidate(id);
+            userCacheInvalidator.evictUser(id);
             log.info("User successfully deleted: {}", id);
         } catch (Exception e) {
             log.error("Failed to delete user with ID: {}", id, e);
@@ -86,30 +88,35 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    @Transactional
     public User updateRole(UUID id) {
         log.info("Updating role for user with ID: {}", id);
         User currentUser = getById(id);
 
         String previousRole = currentUser.getRoles().toString();
-        if (currentUser.getRoles().equals(roleRepository.findByName("ROLE_USER"))) {
-            currentUser.setRoles(roleRepository.findByName("ROLE_MANAGER"));
+        if (currentUser.getRoles().equals(roleCatalogService.getRoles("ROLE_USER"))) {
+            currentUser.setRoles(roleCatalogService.getRoles("ROLE_MANAGER"));
             log.debug("User role changed from ROLE_USER to ROLE_MANAGER");
         } else {
-            currentUser.setRoles(roleRepository.findByName("ROLE_USER"));
+            currentUser.setRoles(roleCatalogService.getRoles("ROLE_USER"));
             log.debug("User role changed from {} to ROLE_USER", previousRole);
         }
 
         User updatedUser = userRepository.save(currentUser);
+        userRepository.incrementTokenVersion(id);
+        tokenVersionService.invalidate(id);
+        userCacheInvalidator.evictUser(id);
         log.info("Role successfully updated for user: {} ({})", updatedUser.getEmail(), updatedUser.getId());
         return updatedUser;
     }
 
     @Override
     @Transactional
-    @Cacheable(value = "users_by_email", key = "#email")
+    @Cacheable(value = "users_by_email", key = "#email", sync = true)
     public User getByEmail(String email) {
         log.debug("Fetching user from database by email: {}", email);
-        User user = userRepository.findByEmail(email).orElseThrow(() -> {
+        User user = userRepository.findWithRolesByEmail(email).orElseThrow(() -> {
             log.warn("User not found with email: {}", email);
             return new ResourceNotFoundException("User not found");
         });
@@ -117,12 +124,45 @@ public class UserServiceImpl implements UserService {
         return user;
     }
 
+    /**
+     * Promotes a confirmed registration into {@code users}. Fails with "User already
+     * taken" when the email was registered in the meantime, e.g. by an import.
+     */
+    @Override
+    @Transactional
+    public User createConfirmed(User user) {
+        log.info("Creating confirmed user with email: {}", user.getEmail());
+        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
+            log.warn("Confirmed user creation failed - email already taken: {}", user.getEmail());
+            throw new IllegalStateException("User already taken");
+        }
+
+        user.setRoles(roleCatalogService.getRoles("ROLE_USER"));
+        user.setEmailConfirmed(true);
+        user.setConfirmationCode(null);
+        user.setUpdated(LocalDateTime.now());
+
+        User savedUser = userRepository.save(user);
+        log.info("Confirmed user created: {} ({})", savedUser.getEmail(), savedUser.getId());
+        return savedUser;
+    }
+
+    /**
+     * Confirms a user that is already stored, e.g. an imported one.
+     */
+    @Override
+    @Transactional
+    public void confirmEmail(UUID id) {
+        log.info("Confirming email of user: {}", id);
+        if (userRepository.confirmEmail(id, LocalDateTime.now()) == 0) {
+            log.warn("Email confirmation failed - user not found: {}", id);
+            throw new ResourceNotFoundException("User not found");
+        }
+        userCacheInvalidator.evictUser(id);
+    }
+
     @Override
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "users", key = "#id"),
-            @CacheEvict(value = "users_by_email", allEntries = true)
-    })
     public User changePassword(UUID id, String newRawPassword) {
         log.info("Changing password for user ID: {}", id);
 
@@ -131,16 +171,54 @@ public class UserServiceImpl implements UserService {
         user.setUpdated(LocalDateTime.now());
 
         User updatedUser = userRepository.save(user);
+        userRepository.incrementTokenVersion(id);
+        tokenVersionService.invalidate(id);
+        userCacheInvalidator.evictUser(id);
         log.info("Password changed successfully for user: {}", updatedUser.getEmail());
         return updatedUser;
     }
 
+    /**
+     * Replaces the stored hash only. Nothing is evicted: cached users do not hold the
+     * password hash, and credentials are always read from the database.
+     */
     @Override
     @Transactional
-    public List<User> getAllUsers() {
-        log.debug("Fetching all users");
-        List<User> users = userRepository.findAll();
-        log.debug("Found {} users", users.size());
-        return users;
+    public void upgradePasswordHash(UUID id, String encodedPassword) {
+        log.info("Upgrading password hash for user: {}", id);
+        userRepository.updatePasswordHash(id, encodedPassword);
+    }
+
+    /**
+     * Returns one page of users in {@code (created_at, id)} order. One extra row is read
+     * to tell whether a next page exists; addresses of the page are loaded in a second
+     * statement onto the same managed instances.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserPage getUsers(String role, Boolean emailConfirmed, String cursor, int size) {
+        int limit = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        log.debug("Fetching users page - size: {}, role: {}, confirmed: {}", limit, role, emailConfirmed);
+
+        List<User> users;
+        if (cursor == null || cursor.isBlank()) {
+            users = userRepository.findPage(role, emailConfirmed, page);
+        } else {
+            UserCursor after = UserCursor.decode(cursor);
+            users = userRepository.findPageAfter(after.created(), after.id(), role, emailConfirmed, page);
+        }
+
+        boolean hasNext = users.size() > limit;
+        if (hasNext) {
+            users = users.subList(0, limit);
+        }
+        if (!users.isEmpty()) {
+            userRepository.findWithAddressesByIdIn(users.stream().map(User::getId).toList());
+        }
+
+        String nextCursor = hasNext ? UserCursor.of(users.get(users.size() - 1)).encode() : null;
+        log.debug("Found {} users, has next page: {}", users.size(), hasNext);
+        return new UserPage(List.copyOf(users), nextCursor);
     }
 }
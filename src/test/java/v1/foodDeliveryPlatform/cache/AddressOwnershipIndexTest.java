@@ -0,0 +1,74 @@
+package v1.foodDeliveryPlatform.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import v1.foodDeliveryPlatform.repository.AddressRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AddressOwnershipIndexTest {
+
+    @Mock
+    private AddressRepository addressRepository;
+
+    private AddressOwnershipIndex addressOwnershipIndex;
+
+    private final UUID addressId = UUID.randomUUID();
+    private final UUID ownerId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        addressOwnershipIndex = new AddressOwnershipIndex(addressRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void getOwnerId_LoadsOnce() {
+
+        when(addressRepository.findOwnerIdById(addressId)).thenReturn(Optional.of(ownerId));
+
+        assertEquals(Optional.of(ownerId), addressOwnershipIndex.getOwnerId(addressId));
+        assertEquals(Optional.of(ownerId), addressOwnershipIndex.getOwnerId(addressId));
+
+        verify(addressRepository, times(1)).findOwnerIdById(addressId);
+    }
+
+    @Test
+    void getOwnerId_UnknownAddressIsNotCached() {
+
+        when(addressRepository.findOwnerIdById(addressId)).thenReturn(Optional.empty());
+
+        assertTrue(addressOwnershipIndex.getOwnerId(addressId).isEmpty());
+        assertTrue(addressOwnershipIndex.getOwnerId(addressId).isEmpty());
+
+        verify(addressRepository, times(2)).findOwnerIdById(addressId);
+    }
+
+    @Test
+    void put_ServesWithoutQuery() {
+
+        addressOwnershipIndex.put(addressId, ownerId);
+
+        assertEquals(Optional.of(ownerId), addressOwnershipIndex.getOwnerId(addressId));
+        verifyNoInteractions(addressRepository);
+    }
+
+    @Test
+    void invalidate_ReloadsOwner() {
+
+        addressOwnershipIndex.put(addressId, ownerId);
+        addressOwnershipIndex.invalidate(addressId);
+        when(addressRepository.findOwnerIdById(addressId)).thenReturn(Optional.empty());
+
+        assertTrue(addressOwnershipIndex.getOwnerId(addressId).isEmpty());
+        verify(addressRepository).findOwnerIdById(addressId);
+    }
+}
@@ -0,0 +1,93 @@
+package v1.foodDeliveryPlatform.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import v1.foodDeliveryPlatform.model.User;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestIdentityMapTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestIdentityMap requestIdentityMap;
+    private ServletRequestAttributes attributes;
+
+    private final UUID userId = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestIdentityMap = new RequestIdentityMap(meterRegistry);
+        attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void get_LoadsOncePerRequest() {
+
+        User first = requestIdentityMap.get(User.class, userId, this::loadUser);
+        User second = requestIdentityMap.get(User.class, userId, this::loadUser);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, requestIdentityMap.getSavedLookups());
+    }
+
+    @Test
+    void get_WithoutRequestAlwaysLoads() {
+
+        RequestContextHolder.resetRequestAttributes();
+
+        requestIdentityMap.get(User.class, userId, this::loadUser);
+        requestIdentityMap.get(User.class, userId, this::loadUser);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, requestIdentityMap.getSavedLookups());
+    }
+
+    @Test
+    void evict_ReloadsEntity() {
+
+        requestIdentityMap.get(User.class, userId, this::loadUser);
+        requestIdentityMap.evict(User.class, userId);
+        requestIdentityMap.get(User.class, userId, this::loadUser);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void requestCompleted_RecordsSavedLookups() {
+
+        requestIdentityMap.get(User.class, userId, this::loadUser);
+        requestIdentityMap.get(User.class, userId, this::loadUser);
+        requestIdentityMap.find(User.class, userId);
+
+        attributes.requestCompleted();
+
+        var summary = meterRegistry.get("request.identity_map.saved_lookups").summary();
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+        assertEquals(2, meterRegistry.get("request.identity_map.hits").counter().count());
+    }
+
+    private User loadUser() {
+        loads.incrementAndGet();
+        User user = new User();
+        user.setId(userId);
+        return user;
+    }
+}
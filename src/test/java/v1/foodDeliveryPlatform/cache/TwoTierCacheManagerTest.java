@@ -0,0 +1,284 @@
+package v1.foodDeliveryPlatform.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import v1.foodDeliveryPlatform.config.props.CacheLoadProps;
+import v1.foodDeliveryPlatform.config.props.LocalCacheProps;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoTierCacheManagerTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private CacheKeyIndex cacheKeyIndex;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ConcurrentMapCacheManager remote;
+    private TwoTierCacheManager cacheManager;
+
+    private final UUID key = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCacheManager("users");
+        cacheManager = new TwoTierCacheManager(remote, CacheValueMapper.identity(), cacheKeyIndex, redisTemplate,
+                new LocalCacheProps(), new CacheLoadProps(), Map.of(), meterRegistry);
+    }
+
+    @Test
+    void get_ServesRepeatedReadsFromLocalTier() {
+        remote.getCache("users").put(key, "user");
+        Cache cache = cacheManager.getCache("users");
+
+        assertEquals("user", cache.get(key).get());
+        remote.getCache("users").evict(key);
+        assertEquals("user", cache.get(key).get());
+
+        assertEquals(1, tierGets("l1", "hit"));
+        assertEquals(1, tierGets("l2", "hit"));
+    }
+
+    @Test
+    void get_MissesBothTiers() {
+        assertNull(cacheManager.getCache("users").get(key));
+
+        assertEquals(1, tierGets("l1", "miss"));
+        assertEquals(1, tierGets("l2", "miss"));
+    }
+
+    @Test
+    void evict_RemovesBothTiersAndBroadcasts() {
+        Cache cache = cacheManager.getCache("users");
+        cache.put(key, "user");
+
+        cache.evict(key);
+
+        assertNull(remote.getCache("users").get(key));
+        assertNull(cache.get(key));
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate, times(2)).convertAndSend(eq(TwoTierCacheManager.CHANNEL), message.capture());
+        assertTrue(message.getValue().endsWith("|users|" + key));
+    }
+
+    @Test
+    void onMessage_DropsLocalEntryChangedByAnotherNode() {
+        remote.getCache("users").put(key, "old");
+        Cache cache = cacheManager.getCache("users");
+        cache.get(key);
+
+        remote.getCache("users").put(key, "new");
+        cacheManager.onMessage(message("other-node|users|" + key), null);
+
+        assertEquals("new", cache.get(key).get());
+    }
+
+    @Test
+    void onMessage_IgnoresOwnBroadcasts() {
+        Cache cache = cacheManager.getCache("users");
+        cache.put(key, "user");
+        ArgumentCaptor<String> own = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(TwoTierCacheManager.CHANNEL), own.capture());
+
+        remote.getCache("users").evict(key);
+        cacheManager.onMessage(message(own.getValue()), null);
+
+        assertEquals("user", cache.get(key).get());
+    }
+
+    @Test
+    void onMessage_ClearsLocalTier() {
+        remote.getCache("users").put(key, "old");
+        Cache cache = cacheManager.getCache("users");
+        cache.get(key);
+
+        remote.getCache("users").clear();
+        cacheManager.onMessage(message("other-node|users|*"), null);
+
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    void put_IndexesValueUnderItsOwner() {
+        UUID owner = UUID.randomUUID();
+        TwoTierCacheManager owned = new TwoTierCacheManager(remote, ownedBy(owner), cacheKeyIndex, redisTemplate,
+                new LocalCacheProps(), new CacheLoadProps(), Map.of(), meterRegistry);
+
+        owned.getCache("users").put(key, "user");
+        owned.getCache("users").get(UUID.randomUUID(), () -> "loaded");
+
+        verify(cacheKeyIndex).record(owner, "users", key);
+        verify(cacheKeyIndex, times(2)).record(eq(owner), eq("users"), any());
+    }
+
+    @Test
+    void evict_CountsEvictionsPerCache() {
+        Cache cache = cacheManager.getCache("users");
+
+        cache.evict(key);
+        cache.evictIfPresent(key);
+
+        assertEquals(2, meterRegistry.get("cache.evictions").tag("cache", "users").counter().count());
+    }
+
+    @Test
+    void get_CoalescesConcurrentLoadsOfOneKey() throws Exception {
+        lockAcquired(true);
+        Cache cache = cacheManager.getCache("users");
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            calls.incrementAndGet();
+            release.await();
+            return "user";
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> cache.get(key, loader)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("user", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(1, loads("loaded"));
+        assertEquals(3, loads("coalesced"));
+    }
+
+    @Test
+    void get_WaitsForLoadOfAnotherNode() throws Exception {
+        lockAcquired(false);
+        Cache cache = cacheManager.getCache("users");
+        ExecutorService otherNode = Executors.newSingleThreadExecutor();
+        try {
+            otherNode.submit(() -> {
+                Thread.sleep(100);
+                remote.getCache("users").put(key, "loaded elsewhere");
+                return null;
+            });
+
+            assertEquals("loaded elsewhere", cache.get(key, () -> fail("loaded twice")));
+        } finally {
+            otherNode.shutdownNow();
+        }
+
+        assertEquals(1, loads("remote"));
+        assertEquals(0, loads("loaded"));
+    }
+
+    @Test
+    void get_RefreshesEntryCloseToExpiry() {
+        lockAcquired(true);
+        remote.getCache("users").put(key, new CacheEnvelope("old", 1_000, System.currentTimeMillis() - 1));
+
+        assertEquals("new", cacheManager.getCache("users").get(key, () -> "new"));
+
+        assertEquals("new", ((CacheEnvelope) remote.getCache("users").get(key).get()).value());
+        assertEquals(1, meterRegistry.get("cache.early.refreshes").tag("cache", "users").counter().count());
+    }
+
+    @Test
+    void get_KeepsCurrentValueWhenEarlyRefreshFails() {
+        lockAcquired(true);
+        remote.getCache("users").put(key, new CacheEnvelope("old", 1_000, System.currentTimeMillis() - 1));
+
+        assertEquals("old", cacheManager.getCache("users").get(key, () -> {
+            throw new IllegalStateException("DB down");
+        }));
+    }
+
+    @Test
+    void put_JittersExpiry() {
+        TwoTierCacheManager expiring = new TwoTierCacheManager(remote, CacheValueMapper.identity(), cacheKeyIndex,
+                redisTemplate, new LocalCacheProps(), new CacheLoadProps(), Map.of("users", Duration.ofHours(1)),
+                meterRegistry);
+        long now = System.currentTimeMillis();
+
+        expiring.getCache("users").put(key, "user");
+
+        long expiresAt = ((CacheEnvelope) remote.getCache("users").get(key).get()).expiresAt();
+        assertTrue(expiresAt >= now + Duration.ofMinutes(54).toMillis());
+        assertTrue(expiresAt <= System.currentTimeMillis() + Duration.ofHours(1).toMillis());
+    }
+
+    private void lockAcquired(boolean acquired) {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(acquired);
+    }
+
+    private double loads(String result) {
+        return meterRegistry.get("cache.loads").tag("cache", "users").tag("result", result).counter().count();
+    }
+
+    private static CacheValueMapper ownedBy(UUID owner) {
+        return new CacheValueMapper() {
+            @Override
+            public Object toCached(Object value) {
+                return value;
+            }
+
+            @Override
+            public Object fromCached(Object cached) {
+                return cached;
+            }
+
+            @Override
+            public Object ownerOf(Object cached) {
+                return owner;
+            }
+        };
+    }
+
+    private double tierGets(String tier, String result) {
+        return meterRegistry.get("cache.tier.gets")
+                .tag("cache", "users").tag("tier", tier).tag("result", result)
+                .counter().count();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TwoTierCacheManager.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,98 @@
+package v1.foodDeliveryPlatform.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import v1.foodDeliveryPlatform.model.Address;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheInvalidatorTest {
+
+    @Mock
+    private CacheKeyIndex cacheKeyIndex;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private UserCacheInvalidator invalidator;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID otherUserId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager("users", "users_by_email", "addresses", "user_addresses");
+        invalidator = new UserCacheInvalidator(cacheManager, cacheKeyIndex);
+
+        cacheManager.getCache("users").put(userId.toString(), "user");
+        cacheManager.getCache("users").put(otherUserId.toString(), "other");
+        cacheManager.getCache("users_by_email").put("test@example.com", "user");
+        cacheManager.getCache("users_by_email").put("other@example.com", "other");
+        cacheManager.getCache("user_addresses").put(userId.toString(), "addresses");
+    }
+
+    @Test
+    void evictUser_EvictsOnlyEntriesOfThatUser() {
+        when(cacheKeyIndex.drain(userId)).thenReturn(List.of(
+                new CacheKeyIndex.Entry("users_by_email", "test@example.com"),
+                new CacheKeyIndex.Entry("users", userId.toString())));
+
+        invalidator.evictUser(userId);
+
+        assertNull(cacheManager.getCache("users").get(userId.toString()));
+        assertNull(cacheManager.getCache("users_by_email").get("test@example.com"));
+        assertNull(cacheManager.getCache("user_addresses").get(userId.toString()));
+        assertNotNull(cacheManager.getCache("users").get(otherUserId.toString()));
+        assertNotNull(cacheManager.getCache("users_by_email").get("other@example.com"));
+    }
+
+    @Test
+    void evictUser_WaitsForCommit() {
+        when(cacheKeyIndex.drain(userId)).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            invalidator.evictUser(userId);
+
+            assertNotNull(cacheManager.getCache("users").get(userId.toString()));
+            verifyNoInteractions(cacheKeyIndex);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(cacheManager.getCache("users").get(userId.toString()));
+    }
+
+    @Test
+    void refreshAddresses_ReplacesListInsteadOfLeavingItEmpty() {
+        when(cacheKeyIndex.drain(userId)).thenReturn(List.of());
+        List<Address> addresses = List.of(new Address());
+
+        invalidator.refreshAddresses(userId, () -> addresses);
+
+        assertSame(addresses, cacheManager.getCache("user_addresses").get(userId).get());
+        assertNull(cacheManager.getCache("users").get(userId.toString()));
+    }
+
+    @Test
+    void refreshAddresses_LeavesEntryEvictedWhenReloadFails() {
+        when(cacheKeyIndex.drain(userId)).thenReturn(List.of());
+
+        invalidator.refreshAddresses(userId, () -> {
+            throw new IllegalStateException("DB down");
+        });
+
+        assertNull(cacheManager.getCache("user_addresses").get(userId));
+        assertNull(cacheManager.getCache("user_addresses").get(userId.toString()));
+    }
+}
@@ -0,0 +1,46 @@
+package v1.foodDeliveryPlatform.cache.snapshot;
+
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import v1.foodDeliveryPlatform.model.User;
+
+/**
+ * Compares payload size and encode/decode time of the cached user format against Java
+ * serialization of the entity. Run the main method from the IDE; it is not part of the
+ * test suite.
+ */
+public class SnapshotRedisSerializerBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    public static void main(String[] args) {
+        User user = SnapshotRedisSerializerTest.createUser(3);
+        SnapshotValueMapper valueMapper = new SnapshotValueMapper();
+
+        run("jdk entity", new JdkSerializationRedisSerializer(), user);
+        run("smile snapshot", new SnapshotRedisSerializer(), valueMapper.toCached(user));
+    }
+
+    private static void run(String label, RedisSerializer<Object> serializer, Object value) {
+        byte[] bytes = serializer.serialize(value);
+        for (int i = 0; i < WARMUP; i++) {
+            serializer.deserialize(serializer.serialize(value));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            serializer.serialize(value);
+        }
+        long encode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            serializer.deserialize(bytes);
+        }
+        long decode = System.nanoTime() - start;
+
+        System.out.printf("%-15s %5d bytes  encode %6d ns  decode %6d ns%n",
+                label, bytes.length, encode / ITERATIONS, decode / ITERATIONS);
+    }
+}
@@ -0,0 +1,125 @@
+package v1.foodDeliveryPlatform.cache.snapshot;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import v1.foodDeliveryPlatform.cache.CacheEnvelope;
+import v1.foodDeliveryPlatform.model.Address;
+import v1.foodDeliveryPlatform.model.Role;
+import v1.foodDeliveryPlatform.model.User;
+import v1.foodDeliveryPlatform.model.enums.UserSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotRedisSerializerTest {
+
+    private final SnapshotRedisSerializer serializer = new SnapshotRedisSerializer();
+    private final SnapshotValueMapper valueMapper = new SnapshotValueMapper();
+
+    @Test
+    void user_RoundTripsWithoutPassword() {
+        User user = createUser(3);
+
+        Object cached = roundTrip(valueMapper.toCached(user));
+        User result = (User) valueMapper.fromCached(cached);
+
+        assertEquals(user.getId(), result.getId());
+        assertEquals(user.getEmail(), result.getEmail());
+        assertEquals(user.getCreated(), result.getCreated());
+        assertEquals(user.getTokenVersion(), result.getTokenVersion());
+        assertEquals(UserSource.SIGNUP, result.getSource());
+        assertEquals(user.getRoles(), result.getRoles());
+        assertEquals(user.getAddressList(), result.getAddressList());
+        assertEquals(user.getId(), result.getAddressList().get(0).getUser().getId());
+        assertNull(result.getPassword());
+    }
+
+    @Test
+    void user_RoundTripsImportSource() {
+        User user = createUser(1);
+        user.setSource(UserSource.IMPORT);
+
+        User result = (User) valueMapper.fromCached(roundTrip(valueMapper.toCached(user)));
+
+        assertEquals(UserSource.IMPORT, result.getSource());
+    }
+
+    @Test
+    void addressList_RoundTrips() {
+        List<Address> addresses = createUser(2).getAddressList();
+
+        Object cached = roundTrip(valueMapper.toCached(addresses));
+
+        assertEquals(addresses, valueMapper.fromCached(cached));
+    }
+
+    @Test
+    void fromCached_ReturnsFreshInstanceOnEveryRead() {
+        Object cached = valueMapper.toCached(createUser(1));
+
+        User first = (User) valueMapper.fromCached(cached);
+        first.setName("Changed");
+        User second = (User) valueMapper.fromCached(cached);
+
+        assertNotSame(first, second);
+        assertEquals("Test User", second.getName());
+    }
+
+    @Test
+    void deserialize_OtherSchemaVersionIsMiss() {
+        byte[] bytes = serializer.serialize(valueMapper.toCached(createUser(1)));
+        bytes[0] = SnapshotRedisSerializer.SCHEMA_VERSION + 1;
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    @Test
+    void serialize_IsSmallerThanJavaSerialization() {
+        User user = createUser(3);
+
+        int snapshot = serializer.serialize(valueMapper.toCached(user)).length;
+        int jdk = new JdkSerializationRedisSerializer().serialize(user).length;
+
+        assertTrue(snapshot * 2 < jdk, "snapshot " + snapshot + " bytes, jdk " + jdk + " bytes");
+    }
+
+    @Test
+    void envelope_KeepsExpiryAndComputeTime() {
+        CacheEnvelope envelope = new CacheEnvelope(valueMapper.toCached(createUser(1)), 42, 1_700_000_000_000L);
+
+        CacheEnvelope result = (CacheEnvelope) serializer.deserialize(serializer.serialize(envelope));
+
+        assertEquals(42, result.computeMillis());
+        assertEquals(1_700_000_000_000L, result.expiresAt());
+        assertEquals(envelope.value(), result.value());
+    }
+
+    private Object roundTrip(Object snapshot) {
+        return ((CacheEnvelope) serializer.deserialize(serializer.serialize(snapshot))).value();
+    }
+
+    static User createUser(int addressCount) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("test@example.com");
+        user.setName("Test User");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuvwxyz0123456789ABCDEFGHIJKLMNOPQ");
+        user.setEmailConfirmed(true);
+        user.setCreated(LocalDateTime.of(2025, 1, 1, 10, 0));
+        user.setUpdated(LocalDateTime.of(2025, 1, 2, 10, 0));
+        user.setTokenVersion(2);
+        user.setRoles(Set.of(new Role(1L, "ROLE_USER")));
+        List<Address> addresses = new ArrayList<>();
+        for (int i = 0; i < addressCount; i++) {
+            addresses.add(new Address(UUID.randomUUID(), "Street " + i, "Warsaw", "00-00" + i,
+                    "Mazowieckie", "Poland", user));
+        }
+        user.setAddressList(addresses);
+        return user;
+    }
+}
@@ -30,6 +30,7 @@ public class ControllerTestSecurityConfig {
                         .requestMatchers(HttpMethod.PATCH, "/api/v1/users/{id}/change-password").authenticated()
                         .requestMatchers(HttpMethod.POST, "/api/v1/users/{id}/addresses").authenticated()
                         .requestMatchers(HttpMethod.GET, "/api/v1/users/{id}/addresses").authenticated()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/auth/introspect").authenticated()
                         .anyRequest().permitAll()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
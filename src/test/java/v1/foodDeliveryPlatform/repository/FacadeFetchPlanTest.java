@@ -0,0 +1,232 @@
+package v1.foodDeliveryPlatform.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import v1.foodDeliveryPlatform.cache.AddressOwnershipIndex;
+import v1.foodDeliveryPlatform.cache.RequestIdentityMap;
+import v1.foodDeliveryPlatform.cache.UserCacheInvalidator;
+import v1.foodDeliveryPlatform.cache.snapshot.SnapshotValueMapper;
+import v1.foodDeliveryPlatform.dto.model.AddressDto;
+import v1.foodDeliveryPlatform.dto.model.UserDto;
+import v1.foodDeliveryPlatform.dto.model.UserPageDto;
+import v1.foodDeliveryPlatform.facade.AddressFacade;
+import v1.foodDeliveryPlatform.facade.UserFacade;
+import v1.foodDeliveryPlatform.facade.impl.AddressFacadeImpl;
+import v1.foodDeliveryPlatform.facade.impl.UserFacadeImpl;
+import v1.foodDeliveryPlatform.mapper.AddressMapper;
+import v1.foodDeliveryPlatform.mapper.AddressMapperImpl;
+import v1.foodDeliveryPlatform.mapper.UserMapperImpl;
+import v1.foodDeliveryPlatform.model.Address;
+import v1.foodDeliveryPlatform.model.Role;
+import v1.foodDeliveryPlatform.model.User;
+import v1.foodDeliveryPlatform.security.expression.CustomSecurityExpression;
+import v1.foodDeliveryPlatform.security.jwt.JwtUser;
+import v1.foodDeliveryPlatform.security.jwt.JwtUserFactory;
+import v1.foodDeliveryPlatform.security.token.TokenVersionService;
+import v1.foodDeliveryPlatform.service.AuthService;
+import v1.foodDeliveryPlatform.service.RoleCatalogService;
+import v1.foodDeliveryPlatform.service.UserExportService;
+import v1.foodDeliveryPlatform.service.UserImportService;
+import v1.foodDeliveryPlatform.service.impl.AddressServiceImpl;
+import v1.foodDeliveryPlatform.service.impl.UserServiceImpl;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static v1.foodDeliveryPlatform.repository.TestUsers.persistUser;
+
+/**
+ * Asserts the number of SQL statements behind each endpoint, going through the facades
+ * and services with their own transactions as the controllers do, and checks that the
+ * cached form of an address needs nothing beyond what its fetch plan loads.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({
+        FacadeFetchPlanTest.Config.class,
+        UserServiceImpl.class,
+        AddressServiceImpl.class,
+        UserFacadeImpl.class,
+        AddressFacadeImpl.class,
+        UserMapperImpl.class,
+        AddressMapperImpl.class,
+        CustomSecurityExpression.class,
+        RequestIdentityMap.class
+})
+class FacadeFetchPlanTest {
+
+    @Autowired
+    private UserFacade userFacade;
+
+    @Autowired
+    private AddressFacade addressFacade;
+
+    @Autowired
+    private CustomSecurityExpression expression;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private AddressMapper addressMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private RoleCatalogService roleCatalogService;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private TokenVersionService tokenVersionService;
+
+    @MockitoBean
+    private UserCacheInvalidator userCacheInvalidator;
+
+    @MockitoBean
+    private AddressOwnershipIndex addressOwnershipIndex;
+
+    @MockitoBean
+    private AuthService authService;
+
+    @MockitoBean
+    private UserExportService userExportService;
+
+    @MockitoBean
+    private UserImportService userImportService;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private UUID userId;
+    private UUID addressId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            Role role = new Role(null, "ROLE_USER");
+            entityManager.persist(role);
+            User user = persistUser(entityManager, "first@example.com", role, 3);
+            persistUser(entityManager, "second@example.com", role, 2);
+            userId = user.getId();
+            addressId = user.getAddressList().get(0).getId();
+        });
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+        transactionTemplate.executeWithoutResult(status -> List.of("user_role", "address", "users", "role")
+                .forEach(table -> entityManager.createNativeQuery("DELETE FROM " + table).executeUpdate()));
+    }
+
+    @Test
+    void getUser_TwoStatements() {
+
+        UserDto user = userFacade.getById(userId);
+
+        assertEquals(3, user.getAddressDtoList().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getUserAddresses_SingleStatement() {
+
+        List<AddressDto> addresses = addressFacade.getAllByUserId(userId);
+
+        assertEquals(3, addresses.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAddress_SingleStatementIncludingAccessCheck() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        JwtUser principal = JwtUserFactory.create(userId, "first@example.com", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities()));
+
+        assertTrue(expression.canReadAddress(addressId));
+        AddressDto address = addressFacade.getById(addressId);
+
+        assertEquals(addressId, address.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getUsers_TwoStatementsPerPage() {
+
+        UserPageDto page = userFacade.getUsers(null, null, null, 10);
+
+        assertEquals(2, page.getUsers().size());
+        assertEquals(5, page.getUsers().stream().mapToInt(user -> user.getAddressDtoList().size()).sum());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void cachedAddress_NeedsOnlyTheOwnerId() {
+        SnapshotValueMapper valueMapper = new SnapshotValueMapper();
+
+        Address loaded = addressRepository.findById(addressId).orElseThrow();
+        Object cached = valueMapper.toCached(loaded);
+        Address restored = (Address) valueMapper.fromCached(cached);
+
+        assertFalse(Hibernate.isInitialized(loaded.getUser()));
+        assertEquals(userId, restored.getUser().getId());
+        assertEquals(addressId, addressMapper.toDto(restored).getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package v1.foodDeliveryPlatform.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import v1.foodDeliveryPlatform.model.Address;
+import v1.foodDeliveryPlatform.model.Role;
+import v1.foodDeliveryPlatform.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static v1.foodDeliveryPlatform.repository.TestUsers.persistUser;
+
+/**
+ * Asserts the number of SQL statements each use case issues, including touching the
+ * associations it is expected to use.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class FetchPlanTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    private Statistics statistics;
+    private Role role;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        role = entityManager.persist(new Role(null, "ROLE_USER"));
+        user = persistUser(entityManager.getEntityManager(), "first@example.com", role, 3);
+        persistUser(entityManager.getEntityManager(), "second@example.com", role, 2);
+        persistUser(entityManager.getEntityManager(), "third@example.com", role, 1);
+        entityManager.flush();
+        setCreated("first@example.com", 0);
+        setCreated("second@example.com", 1);
+        setCreated("third@example.com", 2);
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void profileView_TwoStatements() {
+
+        User profile = userRepository.findProfileById(user.getId()).orElseThrow();
+
+        assertEquals(1, profile.getRoles().size());
+        assertEquals(3, profile.getAddressList().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void profileView_TwoRoles_AddressesNotDuplicated() {
+        Role adminRole = entityManager.persist(new Role(null, "ROLE_ADMIN"));
+        User admin = persistUser(entityManager.getEntityManager(), "admin@example.com", adminRole, 2);
+        admin.getRoles().add(entityManager.find(Role.class, role.getId()));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        User profile = userRepository.findProfileById(admin.getId()).orElseThrow();
+
+        assertEquals(2, profile.getRoles().size());
+        assertEquals(2, profile.getAddressList().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void authView_LoadsRolesOnly() {
+
+        User authUser = userRepository.findWithRolesByEmail("first@example.com").orElseThrow();
+
+        assertEquals(1, authUser.getRoles().size());
+        assertFalse(Hibernate.isInitialized(authUser.getAddressList()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void addressList_DoesNotLoadOwner() {
+
+        List<Address> addresses = addressRepository.findAllByUserId(user.getId());
+
+        assertEquals(3, addresses.size());
+        addresses.forEach(address -> assertFalse(Hibernate.isInitialized(address.getUser())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void addressView_SingleStatement() {
+
+        UUID addressId = addressRepository.findAllByUserId(user.getId()).get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        Address address = addressRepository.findById(addressId).orElseThrow();
+
+        assertEquals(user.getId(), address.getUser().getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void adminList_TwoStatementsPerPage() {
+
+        List<User> users = userRepository.findPage(null, true, PageRequest.of(0, 2));
+        userRepository.findWithAddressesByIdIn(users.stream().map(User::getId).toList());
+
+        assertEquals(2, users.size());
+        users.forEach(u -> assertTrue(Hibernate.isInitialized(u.getAddressList())));
+        assertEquals(5, users.stream().mapToInt(u -> u.getAddressList().size()).sum());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void adminList_ContinuesAfterCursor() {
+
+        List<User> first = userRepository.findPage(null, null, PageRequest.of(0, 2));
+        User last = first.get(1);
+
+        List<User> next = userRepository.findPageAfter(
+                last.getCreated(), last.getId(), "ROLE_USER", null, PageRequest.of(0, 2));
+
+        assertEquals(1, next.size());
+        assertEquals("third@example.com", next.get(0).getEmail());
+    }
+
+    private void setCreated(String email, int minute) {
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE users SET created_at = :created WHERE email = :email")
+                .setParameter("created", LocalDateTime.of(2025, 1, 1, 10, minute))
+                .setParameter("email", email)
+                .executeUpdate();
+    }
+}
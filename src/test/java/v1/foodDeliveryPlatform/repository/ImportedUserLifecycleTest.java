@@ -0,0 +1,99 @@
+package v1.foodDeliveryPlatform.repository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import v1.foodDeliveryPlatform.cache.UserCacheInvalidator;
+import v1.foodDeliveryPlatform.config.props.UserCleanupProps;
+import v1.foodDeliveryPlatform.model.User;
+import v1.foodDeliveryPlatform.model.enums.UserSource;
+import v1.foodDeliveryPlatform.security.token.TokenVersionService;
+import v1.foodDeliveryPlatform.service.JobLockService;
+import v1.foodDeliveryPlatform.service.RoleCatalogService;
+import v1.foodDeliveryPlatform.service.impl.UserCleanupServiceImpl;
+import v1.foodDeliveryPlatform.service.impl.UserServiceImpl;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs unconfirmed users through the cleanup and the confirmation against a real
+ * schema: sign-ups expire, imported users wait until they confirm.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.liquibase.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+class ImportedUserLifecycleTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private UserCleanupServiceImpl cleanupService;
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        cleanupService = new UserCleanupServiceImpl(userRepository, addressRepository, transactionManager,
+                mock(JobLockService.class), new UserCleanupProps(), new SimpleMeterRegistry());
+        userService = new UserServiceImpl(userRepository, mock(RoleCatalogService.class),
+                mock(PasswordEncoder.class), mock(TokenVersionService.class), mock(UserCacheInvalidator.class));
+    }
+
+    @Test
+    void importedUser_SurvivesCleanupAndCanConfirm() {
+        User signup = persistUnconfirmed("signup@example.com", UserSource.SIGNUP);
+        User imported = persistUnconfirmed("imported@example.com", UserSource.IMPORT);
+
+        cleanupService.cleanupUnconfirmedUsers();
+        entityManager.clear();
+
+        assertNull(entityManager.find(User.class, signup.getId()));
+        assertNotNull(entityManager.find(User.class, imported.getId()));
+
+        userService.confirmEmail(imported.getId());
+        entityManager.clear();
+
+        User confirmed = entityManager.find(User.class, imported.getId());
+        assertTrue(confirmed.isEmailConfirmed());
+        assertNull(confirmed.getConfirmationCode());
+        assertEquals(UserSource.IMPORT, confirmed.getSource());
+    }
+
+    private User persistUnconfirmed(String email, UserSource source) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setName("Test User");
+        user.setConfirmationCode("abc12345");
+        user.setSource(source);
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE users SET created_at = :created WHERE email = :email")
+                .setParameter("created", LocalDateTime.now().minusHours(1))
+                .setParameter("email", email)
+                .executeUpdate();
+        return user;
+    }
+}
@@ -0,0 +1,47 @@
+package v1.foodDeliveryPlatform.repository;
+
+import jakarta.persistence.EntityManager;
+import v1.foodDeliveryPlatform.model.Address;
+import v1.foodDeliveryPlatform.model.Role;
+import v1.foodDeliveryPlatform.model.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Fixtures shared by the fetch plan tests.
+ */
+final class TestUsers {
+
+    private TestUsers() {
+    }
+
+    /**
+     * Persists a confirmed user with the given role and number of addresses. The caller
+     * controls the transaction and when to flush.
+     */
+    static User persistUser(EntityManager entityManager, String email, Role role, int addresses) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setName("Test User");
+        user.setEmailConfirmed(true);
+        user.setRoles(new HashSet<>(Set.of(role)));
+        user.setAddressList(new ArrayList<>());
+        entityManager.persist(user);
+
+        for (int i = 0; i < addresses; i++) {
+            Address address = new Address();
+            address.setStreet("Street " + i);
+            address.setCity("Warsaw");
+            address.setZip("00-00" + i);
+            address.setState("Mazovia");
+            address.setCountry("Poland");
+            address.setUser(user);
+            entityManager.persist(address);
+            user.getAddressList().add(address);
+        }
+        return user;
+    }
+}
@@ -114,7 +114,7 @@ class AddressControllerTest {
     @WithMockUser
     void getById_Success() throws Exception {
 
-        when(expression.isAccessAddress(any(UUID.class))).thenReturn(true);
+        when(expression.canReadAddress(any(UUID.class))).thenReturn(true);
         when(addressFacade.getById(addressId)).thenReturn(addressDto);
 
         mockMvc.perform(get("/api/v1/addresses/{id}", addressId))
@@ -124,7 +124,7 @@ class AddressControllerTest {
                 .andExpect(jsonPath("$.street").value("Test Street"))
                 .andExpect(jsonPath("$.zip").value("00-001"));
 
-        verify(expression).isAccessAddress(eq(addressId));
+        verify(expression).canReadAddress(eq(addressId));
         verify(addressFacade).getById(addressId);
     }
 
@@ -132,12 +132,12 @@ class AddressControllerTest {
     @WithMockUser
     void getById_AccessDenied() throws Exception {
 
-        when(expression.isAccessAddress(any(UUID.class))).thenReturn(false);
+        when(expression.canReadAddress(any(UUID.class))).thenReturn(false);
 
         mockMvc.perform(get("/api/v1/addresses/{id}", addressId))
                 .andExpect(status().isForbidden());
 
-        verify(expression).isAccessAddress(eq(addressId));
+        verify(expression).canReadAddress(eq(addressId));
         verify(addressFacade, never()).getById(any(UUID.class));
     }
 
@@ -217,13 +217,13 @@ class AddressControllerTest {
     @WithMockUser
     void getById_InternalServerError() throws Exception {
 
-        when(expression.isAccessAddress(any(UUID.class))).thenReturn(true);
+        when(expression.canReadAddress(any(UUID.class))).thenReturn(true);
         when(addressFacade.getById(addressId)).thenThrow(new RuntimeException("Database error"));
 
         mockMvc.perform(get("/api/v1/addresses/{id}", addressId))
                 .andExpect(status().isInternalServerError());
 
-        verify(expression).isAccessAddress(eq(addressId));
+        verify(expression).canReadAddress(eq(addressId));
         verify(addressFacade).getById(addressId);
     }
 
@@ -0,0 +1,155 @@
+package v1.foodDeliveryPlatform.rest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import v1.foodDeliveryPlatform.cache.AddressOwnershipIndex;
+import v1.foodDeliveryPlatform.cache.RequestIdentityMap;
+import v1.foodDeliveryPlatform.cache.UserCacheInvalidator;
+import v1.foodDeliveryPlatform.facade.impl.AddressFacadeImpl;
+import v1.foodDeliveryPlatform.mapper.AddressMapperImpl;
+import v1.foodDeliveryPlatform.model.Address;
+import v1.foodDeliveryPlatform.model.User;
+import v1.foodDeliveryPlatform.repository.AddressRepository;
+import v1.foodDeliveryPlatform.security.expression.CustomSecurityExpression;
+import v1.foodDeliveryPlatform.security.jwt.JwtUser;
+import v1.foodDeliveryPlatform.security.jwt.JwtUserFactory;
+import v1.foodDeliveryPlatform.service.RoleCatalogService;
+import v1.foodDeliveryPlatform.service.UserService;
+import v1.foodDeliveryPlatform.service.impl.AddressServiceImpl;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs address requests through the real security expression, facade and service to
+ * check that reads share one load of the address between the access check and the
+ * response, while writes check ownership through the index alone.
+ */
+@WebMvcTest(AddressController.class)
+@Import({
+        AddressLookupTest.Config.class,
+        CustomSecurityExpression.class,
+        RequestIdentityMap.class,
+        AddressFacadeImpl.class,
+        AddressMapperImpl.class,
+        AddressServiceImpl.class
+})
+class AddressLookupTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private AddressRepository addressRepository;
+
+    @MockitoBean
+    private AddressOwnershipIndex addressOwnershipIndex;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private UserCacheInvalidator userCacheInvalidator;
+
+    @MockitoBean
+    private RoleCatalogService roleCatalogService;
+
+    private UUID ownerId;
+    private UUID addressId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = UUID.randomUUID();
+        addressId = UUID.randomUUID();
+
+        User owner = new User();
+        owner.setId(ownerId);
+        Address address = Address.builder()
+                .id(addressId)
+                .city("Warsaw")
+                .street("Test Street")
+                .zip("00-001")
+                .state("Mazovia")
+                .country("Poland")
+                .user(owner)
+                .build();
+        when(addressRepository.findById(addressId)).thenReturn(Optional.of(address));
+    }
+
+    @Test
+    void getById_LoadsAddressOnce() throws Exception {
+        mockMvc.perform(get("/api/v1/addresses/{id}", addressId).with(user(ownerId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.city").value("Warsaw"));
+
+        verify(addressRepository, times(1)).findById(addressId);
+        verifyNoMoreInteractions(addressRepository);
+        verifyNoInteractions(addressOwnershipIndex);
+    }
+
+    @Test
+    void getById_OtherUserLoadsAddressOnce() throws Exception {
+        mockMvc.perform(get("/api/v1/addresses/{id}", addressId).with(user(UUID.randomUUID())))
+                .andExpect(status().isForbidden());
+
+        verify(addressRepository, times(1)).findById(addressId);
+        verifyNoMoreInteractions(addressRepository);
+    }
+
+    @Test
+    void delete_ChecksOwnerWithoutLoadingAddress() throws Exception {
+        when(addressOwnershipIndex.getOwnerId(addressId)).thenReturn(Optional.of(ownerId));
+
+        mockMvc.perform(delete("/api/v1/addresses/{id}", addressId).with(user(ownerId)).with(csrf()))
+                .andExpect(status().isNoContent());
+
+        verify(addressRepository, never()).findById(any());
+        verify(addressRepository).deleteDirectlyById(addressId);
+    }
+
+    private static RequestPostProcessor user(UUID id) {
+        JwtUser principal = JwtUserFactory.create(id, "test@example.com",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return authentication(new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities()));
+    }
+
+    @TestConfiguration
+    @EnableMethodSecurity
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new NoOpCacheManager();
+        }
+    }
+}
@@ -5,19 +5,31 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import v1.foodDeliveryPlatform.config.ControllerTestSecurityConfig;
+import v1.foodDeliveryPlatform.dto.auth.IntrospectionRequest;
+import v1.foodDeliveryPlatform.dto.auth.IntrospectionResponse;
 import v1.foodDeliveryPlatform.dto.auth.JwtRequest;
 import v1.foodDeliveryPlatform.dto.auth.JwtResponse;
 import v1.foodDeliveryPlatform.dto.auth.RefreshTokenRequest;
+import v1.foodDeliveryPlatform.dto.auth.TokenIntrospection;
 import v1.foodDeliveryPlatform.dto.model.UserDto;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
 import v1.foodDeliveryPlatform.facade.AuthFacade;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -25,6 +37,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AuthController.class)
+@Import(ControllerTestSecurityConfig.class)
 class AuthControllerTest {
 
     @Autowired
@@ -71,7 +84,7 @@ class AuthControllerTest {
     @WithMockUser
     void loginWithEmailAndPassword_Success() throws Exception {
 
-        when(authFacade.getToken(any(JwtRequest.class))).thenReturn(jwtResponse);
+        when(authFacade.getToken(any(JwtRequest.class), anyString())).thenReturn(jwtResponse);
 
         mockMvc.perform(post("/api/v1/auth/login")
                         .with(csrf())
@@ -83,7 +96,23 @@ class AuthControllerTest {
                 .andExpect(jsonPath("$.accessToken").value("access-token"))
                 .andExpect(jsonPath("$.refreshToken").value("refresh-token"));
 
-        verify(authFacade).getToken(any(JwtRequest.class));
+        verify(authFacade).getToken(any(JwtRequest.class), eq("127.0.0.1"));
+    }
+
+    @Test
+    @WithMockUser
+    void loginWithEmailAndPassword_Throttled() throws Exception {
+
+        when(authFacade.getToken(any(JwtRequest.class), anyString()))
+                .thenThrow(new TooManyRequestsException("Too many login attempts, please try again later", 60));
+
+        mockMvc.perform(post("/api/v1/auth/login")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(jwtRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "60"))
+                .andExpect(jsonPath("$.message").value("Too many login attempts, please try again later"));
     }
 
     @Test
@@ -98,7 +127,7 @@ class AuthControllerTest {
                         .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
 
-        verify(authFacade, never()).getToken(any(JwtRequest.class));
+        verify(authFacade, never()).getToken(any(JwtRequest.class), anyString());
     }
 
     @Test
@@ -204,7 +233,7 @@ class AuthControllerTest {
     @WithMockUser
     void loginWithEmailAndPassword_FacadeThrowsException() throws Exception {
 
-        when(authFacade.getToken(any(JwtRequest.class)))
+        when(authFacade.getToken(any(JwtRequest.class), anyString()))
                 .thenThrow(new RuntimeException("Authentication failed"));
 
         mockMvc.perform(post("/api/v1/auth/login")
@@ -213,7 +242,7 @@ class AuthControllerTest {
                         .content(objectMapper.writeValueAsString(jwtRequest)))
                 .andExpect(status().is5xxServerError());
 
-        verify(authFacade).getToken(any(JwtRequest.class));
+        verify(authFacade).getToken(any(JwtRequest.class), anyString());
     }
 
     @Test
@@ -231,5 +260,79 @@ class AuthControllerTest {
 
         verify(authFacade).refreshToken(any(RefreshTokenRequest.class));
     }
-}
 
+    @Test
+    @WithMockUser
+    void getJwks_Success() throws Exception {
+
+        when(authFacade.getJwks()).thenReturn(Map.of("keys", List.of(Map.of("kid", "key-1", "kty", "EC"))));
+
+        mockMvc.perform(get("/api/v1/auth/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=900, public"))
+                .andExpect(jsonPath("$.keys[0].kid").value("key-1"));
+
+        verify(authFacade).getJwks();
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_SERVICE")
+    void introspect_Success() throws Exception {
+
+        long exp = Instant.now().getEpochSecond() + 600;
+        IntrospectionResponse response = new IntrospectionResponse(List.of(
+                TokenIntrospection.builder().active(true).sub("test@example.com").id(userId).exp(exp).build(),
+                TokenIntrospection.builder().active(false).build()));
+        when(authFacade.introspect(any(IntrospectionRequest.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/auth/introspect")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new IntrospectionRequest(List.of("active-token", "expired-token")))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("private")))
+                .andExpect(header().string("Cache-Control", containsString("max-age=")))
+                .andExpect(jsonPath("$.tokens[0].active").value(true))
+                .andExpect(jsonPath("$.tokens[0].sub").value("test@example.com"))
+                .andExpect(jsonPath("$.tokens[1].active").value(false))
+                .andExpect(jsonPath("$.tokens[1].sub").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_SERVICE")
+    void introspect_EmptyBatch() throws Exception {
+
+        mockMvc.perform(post("/api/v1/auth/introspect")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new IntrospectionRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(authFacade, never()).introspect(any(IntrospectionRequest.class));
+    }
+
+    @Test
+    void introspect_Unauthorized() throws Exception {
+
+        mockMvc.perform(post("/api/v1/auth/introspect")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new IntrospectionRequest(List.of("token")))))
+                .andExpect(status().isUnauthorized());
+
+        verify(authFacade, never()).introspect(any(IntrospectionRequest.class));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_USER")
+    void introspect_Forbidden() throws Exception {
+
+        mockMvc.perform(post("/api/v1/auth/introspect")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new IntrospectionRequest(List.of("token")))))
+                .andExpect(status().isForbidden());
+
+        verify(authFacade, never()).introspect(any(IntrospectionRequest.class));
+    }
+}
@@ -8,23 +8,37 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import v1.foodDeliveryPlatform.config.ControllerTestSecurityConfig;
 import v1.foodDeliveryPlatform.dto.auth.ChangePasswordRequest;
 import v1.foodDeliveryPlatform.dto.auth.PasswordConfirm;
 import v1.foodDeliveryPlatform.dto.model.AddressDto;
+import v1.foodDeliveryPlatform.dto.model.ImportReport;
 import v1.foodDeliveryPlatform.dto.model.UserDto;
+import v1.foodDeliveryPlatform.dto.model.UserPageDto;
 import v1.foodDeliveryPlatform.facade.AddressFacade;
+import v1.foodDeliveryPlatform.exception.PayloadTooLargeException;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
 import v1.foodDeliveryPlatform.facade.UserFacade;
+import v1.foodDeliveryPlatform.model.enums.DataFormat;
 import v1.foodDeliveryPlatform.security.expression.CustomSecurityExpression;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
@@ -111,6 +125,126 @@ class UserControllerTest {
         verify(userFacade, never()).updateRole(any(UUID.class));
     }
 
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void getAll_Success() throws Exception {
+        UserPageDto page = new UserPageDto(List.of(new UserDto()), "next-cursor");
+        when(userFacade.getUsers("ROLE_USER", false, "cursor", 20)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/users")
+                        .param("role", "ROLE_USER")
+                        .param("emailConfirmed", "false")
+                        .param("cursor", "cursor")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+
+        verify(userFacade).getUsers("ROLE_USER", false, "cursor", 20);
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_USER")
+    void getAll_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/v1/users"))
+                .andExpect(status().isForbidden());
+
+        verify(userFacade, never()).getUsers(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void export_StreamsCsv() throws Exception {
+        when(userFacade.exportUsers(DataFormat.CSV)).thenReturn(out ->
+                out.write("id,email\n1,test@example.com\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/users/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"users.csv\""))
+                .andExpect(content().string("id,email\n1,test@example.com\n"));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void export_TooManyExports() throws Exception {
+        when(userFacade.exportUsers(DataFormat.NDJSON))
+                .thenThrow(new TooManyRequestsException("Too many exports running, please try again later", 30));
+
+        mockMvc.perform(get("/api/v1/users/export"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_USER")
+    void export_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/v1/users/export"))
+                .andExpect(status().isForbidden());
+
+        verify(userFacade, never()).exportUsers(any(DataFormat.class));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void import_Accepted() throws Exception {
+        UUID importId = UUID.randomUUID();
+        when(userFacade.importUsers(eq(DataFormat.CSV), any(InputStream.class), anyLong()))
+                .thenReturn(ImportReport.builder().id(importId).status("QUEUED").build());
+
+        mockMvc.perform(post("/api/v1/users/import")
+                        .with(csrf())
+                        .param("format", "CSV")
+                        .contentType("text/csv")
+                        .content("email,password,name\ntest@example.com,secret,Test User\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(importId.toString()))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+
+        verify(userFacade).importUsers(eq(DataFormat.CSV), any(InputStream.class), eq(54L));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_USER")
+    void import_Forbidden() throws Exception {
+        mockMvc.perform(post("/api/v1/users/import")
+                        .with(csrf())
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+
+        verify(userFacade, never()).importUsers(any(), any(), anyLong());
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void import_PayloadTooLarge() throws Exception {
+        when(userFacade.importUsers(eq(DataFormat.NDJSON), any(InputStream.class), anyLong()))
+                .thenThrow(new PayloadTooLargeException("Import is larger than the allowed size"));
+
+        mockMvc.perform(post("/api/v1/users/import")
+                        .with(csrf())
+                        .content("{}"))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message").value("Import is larger than the allowed size"));
+    }
+
+    @Test
+    @WithMockUser(authorities = "ROLE_ADMIN")
+    void getImportReport_Success() throws Exception {
+        UUID importId = UUID.randomUUID();
+        when(userFacade.getImportReport(importId))
+                .thenReturn(ImportReport.builder().id(importId).status("RUNNING").processed(1500).build());
+
+        mockMvc.perform(get("/api/v1/users/import/{id}", importId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("RUNNING"))
+                .andExpect(jsonPath("$.processed").value(1500));
+    }
+
     @Test
     void getById_Unauthorized() throws Exception {
         mockMvc.perform(get("/api/v1/users/{id}", userId))
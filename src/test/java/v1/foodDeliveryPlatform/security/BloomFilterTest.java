@@ -0,0 +1,41 @@
+package v1.foodDeliveryPlatform.security;
+
+import org.junit.jupiter.api.Test;
+import v1.foodDeliveryPlatform.security.token.BloomFilter;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_AddedValues() {
+        BloomFilter filter = new BloomFilter(1000, 0.001);
+
+        for (int i = 0; i < 1000; i++) {
+            filter.put("family-" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("family-" + i));
+        }
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateWithinBounds() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+    }
+}
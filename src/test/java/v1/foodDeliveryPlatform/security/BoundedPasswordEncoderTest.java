@@ -0,0 +1,97 @@
+package v1.foodDeliveryPlatform.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
+import v1.foodDeliveryPlatform.security.crypto.BoundedPasswordEncoder;
+import v1.foodDeliveryPlatform.security.props.HashingProps;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private HashingProps props(int poolSize, int queueCapacity, Duration maxWait) {
+        HashingProps props = new HashingProps();
+        props.setPoolSize(poolSize);
+        props.setQueueCapacity(queueCapacity);
+        props.setMaxWait(maxWait);
+        return props;
+    }
+
+    @Test
+    void encodeAndMatches_DelegatedToPool() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BlockingEncoder(new CountDownLatch(0), new CountDownLatch(0)),
+                props(2, 4, Duration.ofSeconds(1)), meterRegistry)) {
+
+            assertEquals("hashed:secret", encoder.encode("secret"));
+            assertTrue(encoder.matches("secret", "hashed:secret"));
+            assertFalse(encoder.matches("other", "hashed:secret"));
+            assertEquals(3, meterRegistry.get("auth.hashing.queue.wait").timer().count());
+        }
+    }
+
+    @Test
+    void encode_RejectedWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BlockingEncoder(started, release), props(1, 1, Duration.ofSeconds(5)), meterRegistry)) {
+
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+            while (meterRegistry.get("auth.hashing.queue.depth").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(TooManyRequestsException.class, () -> encoder.encode("third"));
+
+            release.countDown();
+            assertEquals("hashed:first", running.get(1, TimeUnit.SECONDS));
+            assertEquals("hashed:second", queued.get(1, TimeUnit.SECONDS));
+            assertEquals(1.0, meterRegistry.get("auth.hashing.rejected").tag("reason", "queue_full").counter().count());
+        }
+    }
+
+    @Test
+    void encode_RejectedWhenWaitingTooLong() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(
+                new BlockingEncoder(started, release), props(1, 4, Duration.ofMillis(50)), meterRegistry)) {
+
+            assertThrows(TooManyRequestsException.class, () -> encoder.encode("slow"));
+
+            release.countDown();
+            assertEquals(1.0, meterRegistry.get("auth.hashing.rejected").tag("reason", "timeout").counter().count());
+        }
+    }
+
+    private record BlockingEncoder(CountDownLatch started, CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
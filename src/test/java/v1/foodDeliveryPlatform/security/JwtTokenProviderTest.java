@@ -0,0 +1,311 @@
+package v1.foodDeliveryPlatform.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import v1.foodDeliveryPlatform.dto.auth.JwtResponse;
+import v1.foodDeliveryPlatform.exception.AccessDeniedException;
+import v1.foodDeliveryPlatform.model.Role;
+import v1.foodDeliveryPlatform.model.User;
+import v1.foodDeliveryPlatform.security.jwt.JwtKeyRing;
+import v1.foodDeliveryPlatform.security.jwt.JwtTokenProvider;
+import v1.foodDeliveryPlatform.security.jwt.JwtUser;
+import v1.foodDeliveryPlatform.security.jwt.VerifiedTokenCache;
+import v1.foodDeliveryPlatform.security.props.JwtProps;
+import v1.foodDeliveryPlatform.security.token.RefreshTokenStore;
+import v1.foodDeliveryPlatform.security.token.TokenRevocationService;
+import v1.foodDeliveryPlatform.security.token.TokenVersionService;
+import v1.foodDeliveryPlatform.service.RoleCatalogService;
+import v1.foodDeliveryPlatform.service.UserService;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtTokenProviderTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private RefreshTokenStore refreshTokenStore;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @Mock
+    private RoleCatalogService roleCatalogService;
+
+    private JwtProps jwtProps;
+    private MockEnvironment environment;
+    private JwtTokenProvider jwtTokenProvider;
+
+    private final UUID userId = UUID.randomUUID();
+    private final String email = "test@example.com";
+
+    @BeforeEach
+    void setUp() {
+        jwtProps = new JwtProps();
+        jwtProps.setSecret("test-secret-key-that-is-long-enough-for-hs256");
+        jwtProps.setAccess(600000);
+        jwtProps.setRefresh(2592000000L);
+        environment = new MockEnvironment();
+        environment.setActiveProfiles("test");
+
+        jwtTokenProvider = createProvider();
+    }
+
+    private JwtTokenProvider createProvider() {
+        JwtKeyRing keyRing = new JwtKeyRing(jwtProps, environment);
+        keyRing.init();
+        JwtTokenProvider provider = new JwtTokenProvider(jwtProps, userDetailsService, userService,
+                new VerifiedTokenCache(jwtProps, new SimpleMeterRegistry()), keyRing,
+                refreshTokenStore, tokenRevocationService, tokenVersionService, roleCatalogService);
+        provider.init();
+        return provider;
+    }
+
+    private String accessToken(JwtTokenProvider provider) {
+        return provider.createAccessToken(email, List.of("ROLE_USER"), userId, 0, "family");
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+    }
+
+    @Test
+    @DisplayName("Should build principal from token claims without loading the user")
+    void getAuthentication_ClaimsMode() {
+        jwtProps.setAuthenticationMode(JwtProps.AuthenticationMode.CLAIMS);
+        String token = accessToken(jwtTokenProvider);
+        when(roleCatalogService.getAuthority("ROLE_USER")).thenReturn(new SimpleGrantedAuthority("ROLE_USER"));
+
+        Authentication authentication = jwtTokenProvider.getAuthentication(token);
+
+        assertNotNull(authentication);
+        JwtUser principal = (JwtUser) authentication.getPrincipal();
+        assertEquals(userId, principal.getId());
+        assertEquals(email, principal.getUsername());
+        assertTrue(authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
+        verifyNoInteractions(userDetailsService, userService);
+    }
+
+    @Test
+    @DisplayName("Should not authenticate a refresh token in claims mode")
+    void getAuthentication_ClaimsModeRefreshToken() {
+        jwtProps.setAuthenticationMode(JwtProps.AuthenticationMode.CLAIMS);
+        String token = jwtTokenProvider.createRefreshToken(userId, email, 0, "family");
+
+        assertNull(jwtTokenProvider.getAuthentication(token));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Should load the user in lookup mode")
+    void getAuthentication_LookupMode() {
+        jwtProps.setAuthenticationMode(JwtProps.AuthenticationMode.LOOKUP);
+        String token = accessToken(jwtTokenProvider);
+        JwtUser user = new JwtUser(userId, email, "Test", "hash", Set.of(new SimpleGrantedAuthority("ROLE_USER")));
+        when(userDetailsService.loadUserByUsername(email)).thenReturn(user);
+
+        Authentication authentication = jwtTokenProvider.getAuthentication(token);
+
+        assertSame(user, authentication.getPrincipal());
+        verify(userDetailsService).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reuse verified claims for the same token")
+    void parseClaims_CachedAfterFirstVerification() {
+        String token = accessToken(jwtTokenProvider);
+
+        Claims first = jwtTokenProvider.parseClaims(token);
+        Claims second = jwtTokenProvider.parseClaims(token);
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(email, first.getSubject());
+    }
+
+    @Test
+    @DisplayName("Should reject a token with a tampered signature")
+    void parseClaims_InvalidSignature() {
+        String token = accessToken(jwtTokenProvider);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(jwtTokenProvider.parseClaims(tampered));
+        assertFalse(jwtTokenProvider.isValid("not-a-token"));
+    }
+
+    @Test
+    @DisplayName("Should sign with ES256, set kid and publish the key in JWKS")
+    void createAccessToken_Es256WithKeyId() {
+        jwtProps.setAlgorithm(SignatureAlgorithm.ES256);
+        JwtTokenProvider provider = createProvider();
+
+        String token = accessToken(provider);
+
+        assertTrue(header(token).contains("\"alg\":\"ES256\""));
+        assertTrue(header(token).contains("\"kid\":\"" + jwtProps.getActiveKeyId() + "\""));
+        assertNotNull(provider.parseClaims(token));
+
+        List<?> keys = (List<?>) provider.getJwks().get("keys");
+        assertEquals(1, keys.size());
+        Map<?, ?> jwk = (Map<?, ?>) keys.get(0);
+        assertEquals(jwtProps.getActiveKeyId(), jwk.get("kid"));
+        assertEquals("P-256", jwk.get("crv"));
+    }
+
+    @Test
+    @DisplayName("Should refuse to start ES256 without configured keys outside the dev and test profiles")
+    void init_Es256WithoutKeysInProduction() {
+        jwtProps.setAlgorithm(SignatureAlgorithm.ES256);
+        JwtKeyRing keyRing = new JwtKeyRing(jwtProps, new MockEnvironment());
+
+        assertThrows(IllegalStateException.class, keyRing::init);
+    }
+
+    @Test
+    @DisplayName("Should keep accepting tokens signed with the shared secret after switching to ES256")
+    void parseClaims_LegacyHmacTokenAfterRotation() {
+        String legacyToken = accessToken(jwtTokenProvider);
+
+        jwtProps.setAlgorithm(SignatureAlgorithm.ES256);
+        JwtTokenProvider provider = createProvider();
+
+        assertNotNull(provider.parseClaims(legacyToken));
+    }
+
+    @Test
+    @DisplayName("Should rotate the refresh token within its family")
+    void refreshTokens_Rotates() {
+        String refreshToken = jwtTokenProvider.createRefreshToken(userId, email, 0, "family");
+        User user = User.builder().id(userId).email(email).roles(Set.of(new Role(1L, "ROLE_USER"))).build();
+        when(refreshTokenStore.rotate(eq("family"), anyString(), anyString()))
+                .thenReturn(RefreshTokenStore.RotationResult.ROTATED);
+        when(userService.getById(userId)).thenReturn(user);
+
+        JwtResponse response = jwtTokenProvider.refreshTokens(refreshToken);
+
+        assertNotNull(response.getAccessToken());
+        assertNotEquals(refreshToken, response.getRefreshToken());
+        assertEquals("family", jwtTokenProvider.parseClaims(response.getRefreshToken()).get("fam"));
+        verify(refreshTokenStore).register(eq("family"), anyString());
+        verify(tokenRevocationService, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    @DisplayName("Should revoke the whole family when a refresh token is reused")
+    void refreshTokens_ReuseRevokesFamily() {
+        String refreshToken = jwtTokenProvider.createRefreshToken(userId, email, 0, "family");
+        when(refreshTokenStore.rotate(eq("family"), anyString(), anyString()))
+                .thenReturn(RefreshTokenStore.RotationResult.REUSED);
+
+        assertThrows(AccessDeniedException.class, () -> jwtTokenProvider.refreshTokens(refreshToken));
+
+        verify(refreshTokenStore).remove("family");
+        verify(tokenRevocationService).revokeFamily("family");
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("Should migrate a refresh token without family once and reject its replay")
+    void refreshTokens_LegacyTokenReplayed() {
+        Date now = new Date();
+        String legacyToken = Jwts.builder()
+                .setSubject(email)
+                .claim("id", userId.toString())
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtProps.getRefresh()))
+                .signWith(Keys.hmacShaKeyFor(jwtProps.getSecret().getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+        User user = User.builder().id(userId).email(email).roles(Set.of(new Role(1L, "ROLE_USER"))).build();
+        when(refreshTokenStore.consumeLegacy(eq(legacyToken), any(Duration.class)))
+                .thenReturn(true)
+                .thenReturn(false);
+        when(userService.getById(userId)).thenReturn(user);
+
+        JwtResponse response = jwtTokenProvider.refreshTokens(legacyToken);
+
+        assertNotNull(jwtTokenProvider.parseClaims(response.getRefreshToken()).get("fam"));
+        assertThrows(AccessDeniedException.class, () -> jwtTokenProvider.refreshTokens(legacyToken));
+        verify(refreshTokenStore, times(1)).register(anyString(), anyString());
+        verify(userService, times(1)).getById(userId);
+    }
+
+    @Test
+    @DisplayName("Should reject access tokens of a revoked family")
+    void getAuthentication_RevokedFamily() {
+        jwtProps.setAuthenticationMode(JwtProps.AuthenticationMode.CLAIMS);
+        when(tokenRevocationService.isRevoked("family")).thenReturn(true);
+
+        assertNull(jwtTokenProvider.getAuthentication(accessToken(jwtTokenProvider)));
+    }
+
+    @Test
+    @DisplayName("Should reject access tokens issued before the user's token version changed")
+    void getAuthentication_OutdatedTokenVersion() {
+        jwtProps.setAuthenticationMode(JwtProps.AuthenticationMode.CLAIMS);
+        String token = accessToken(jwtTokenProvider);
+        when(tokenVersionService.currentVersion(userId)).thenReturn(1);
+
+        assertNull(jwtTokenProvider.getAuthentication(token));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    @DisplayName("Should not refresh tokens issued before the user's token version changed")
+    void refreshTokens_OutdatedTokenVersion() {
+        String refreshToken = jwtTokenProvider.createRefreshToken(userId, email, 0, "family");
+        when(tokenVersionService.currentVersion(userId)).thenReturn(TokenVersionService.UNKNOWN_USER);
+
+        assertThrows(AccessDeniedException.class, () -> jwtTokenProvider.refreshTokens(refreshToken));
+
+        verify(refreshTokenStore, never()).rotate(anyString(), anyString(), anyString());
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    @DisplayName("Should introspect only tokens that are currently accepted")
+    void introspect_ActiveAndRevoked() {
+        String token = accessToken(jwtTokenProvider);
+
+        Claims claims = jwtTokenProvider.introspect(token);
+
+        assertNotNull(claims);
+        assertEquals(email, claims.getSubject());
+
+        when(tokenRevocationService.isRevoked("family")).thenReturn(true);
+        assertNull(jwtTokenProvider.introspect(token));
+        assertNull(jwtTokenProvider.introspect("not-a-token"));
+    }
+}
@@ -0,0 +1,80 @@
+package v1.foodDeliveryPlatform.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import v1.foodDeliveryPlatform.security.crypto.PasswordHashCalibrator;
+import v1.foodDeliveryPlatform.security.props.HashingProps;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashCalibratorTest {
+
+    private HashingProps props() {
+        HashingProps props = new HashingProps();
+        props.setBcryptStrength(4);
+        props.setMaxBcryptStrength(6);
+        props.setArgon2Memory(1024);
+        props.setArgon2Iterations(1);
+        props.setMaxArgon2Iterations(2);
+        return props;
+    }
+
+    @Test
+    void createEncoder_CalibratesWithinBudget() {
+        HashingProps props = props();
+        props.setTargetLatency(Duration.ofSeconds(10));
+        PasswordHashCalibrator calibrator = new PasswordHashCalibrator(props);
+
+        PasswordEncoder encoder = calibrator.createEncoder();
+
+        PasswordHashCalibrator.CalibrationReport report = calibrator.getReport();
+        assertEquals(6, report.selectedCost());
+        assertEquals(3, report.measurements().size());
+        String hash = encoder.encode("secret");
+        assertTrue(hash.startsWith("{bcrypt}$2a$06$"));
+        assertTrue(encoder.matches("secret", hash));
+    }
+
+    @Test
+    void createEncoder_KeepsMinimumCostWhenBudgetIsExceeded() {
+        HashingProps props = props();
+        props.setTargetLatency(Duration.ZERO);
+        PasswordHashCalibrator calibrator = new PasswordHashCalibrator(props);
+
+        calibrator.createEncoder();
+
+        assertEquals(4, calibrator.getReport().selectedCost());
+        assertEquals(1, calibrator.getReport().measurements().size());
+    }
+
+    @Test
+    void createEncoder_MatchesAndUpgradesLegacyBcryptHash() {
+        HashingProps props = props();
+        props.setCalibrate(false);
+        PasswordEncoder encoder = new PasswordHashCalibrator(props).createEncoder();
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+    }
+
+    @Test
+    void createEncoder_Argon2ForNewHashes() {
+        HashingProps props = props();
+        props.setCalibrate(false);
+        props.setAlgorithm(HashingProps.Algorithm.ARGON2);
+        PasswordEncoder encoder = new PasswordHashCalibrator(props).createEncoder();
+        String bcryptHash = "{bcrypt}" + new BCryptPasswordEncoder(4).encode("secret");
+
+        String hash = encoder.encode("secret");
+
+        assertTrue(hash.startsWith("{argon2}"));
+        assertTrue(encoder.matches("secret", hash));
+        assertTrue(encoder.matches("secret", bcryptHash));
+        assertTrue(encoder.upgradeEncoding(bcryptHash));
+    }
+}
@@ -8,6 +8,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.cache.CacheManager;
+import v1.foodDeliveryPlatform.cache.AddressOwnershipIndex;
+import v1.foodDeliveryPlatform.cache.UserCacheInvalidator;
 import v1.foodDeliveryPlatform.exception.ResourceNotFoundException;
 import v1.foodDeliveryPlatform.model.Address;
 import v1.foodDeliveryPlatform.model.User;
@@ -19,6 +21,7 @@ import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +36,12 @@ class AddressServiceImplTest {
     @Mock
     private CacheManager cacheManager;
 
+    @Mock
+    private AddressOwnershipIndex addressOwnershipIndex;
+
+    @Mock
+    private UserCacheInvalidator userCacheInvalidator;
+
     @InjectMocks
     private AddressServiceImpl addressService;
 
@@ -127,9 +136,33 @@ class AddressServiceImplTest {
 
         verify(userService).getById(testUserId);
         verify(addressRepository).save(newAddress);
+        verify(addressOwnershipIndex).put(savedAddress.getId(), testUserId);
+        verify(userCacheInvalidator).refreshAddresses(eq(testUserId), any());
         assertEquals(testUser, newAddress.getUser());
     }
 
+    @Test
+    @DisplayName("Should get address owner from ownership index")
+    void getOwnerId_Success() {
+
+        when(addressOwnershipIndex.getOwnerId(testAddressId)).thenReturn(Optional.of(testUserId));
+
+        UUID result = addressService.getOwnerId(testAddressId);
+
+        assertEquals(testUserId, result);
+        verify(addressRepository, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Should throw exception when address owner is unknown")
+    void getOwnerId_NotFound() {
+
+        when(addressOwnershipIndex.getOwnerId(testAddressId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> addressService.getOwnerId(testAddressId));
+    }
+
     @Test
     @DisplayName("Should get all addresses by user ID successfully")
     void getAllByUserId_Success() {
@@ -223,6 +256,7 @@ class AddressServiceImplTest {
 
         verify(addressRepository).findById(testAddressId);
         verify(addressRepository).save(existingAddress);
+        verify(userCacheInvalidator).refreshAddresses(eq(testUserId), any());
     }
 
     @Test
@@ -242,17 +276,21 @@ class AddressServiceImplTest {
 
         verify(addressRepository).findById(testAddressId);
         verify(addressRepository, never()).save(any(Address.class));
+        verifyNoInteractions(userCacheInvalidator);
     }
 
     @Test
     @DisplayName("Should delete address successfully")
     void delete_Success() {
 
+        when(addressOwnershipIndex.getOwnerId(testAddressId)).thenReturn(Optional.of(testUserId));
         doNothing().when(addressRepository).deleteDirectlyById(testAddressId);
 
         addressService.delete(testAddressId);
 
         verify(addressRepository).deleteDirectlyById(testAddressId);
+        verify(addressOwnershipIndex).invalidate(testAddressId);
+        verify(userCacheInvalidator).refreshAddresses(eq(testUserId), any());
     }
 
     @Test
@@ -270,6 +308,8 @@ class AddressServiceImplTest {
         assertEquals("Database error", exception.getMessage());
 
         verify(addressRepository).deleteDirectlyById(testAddressId);
+        verify(addressOwnershipIndex, never()).invalidate(testAddressId);
+        verifyNoInteractions(userCacheInvalidator);
     }
 
     @Test
@@ -1,5 +1,7 @@
 package v1.foodDeliveryPlatform.service;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -7,21 +9,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.DisabledException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import v1.foodDeliveryPlatform.dto.auth.JwtResponse;
+import v1.foodDeliveryPlatform.dto.auth.TokenIntrospection;
 import v1.foodDeliveryPlatform.exception.EmailNotConfirmedException;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
 import v1.foodDeliveryPlatform.model.Role;
 import v1.foodDeliveryPlatform.model.User;
-import v1.foodDeliveryPlatform.repository.RoleRepository;
 import v1.foodDeliveryPlatform.repository.UserRepository;
+import v1.foodDeliveryPlatform.repository.projection.UserCredentials;
 import v1.foodDeliveryPlatform.security.jwt.JwtTokenProvider;
 import v1.foodDeliveryPlatform.service.impl.AuthServiceImpl;
 
 import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -33,9 +38,6 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AuthServiceImplTest {
 
-    @Mock
-    private AuthenticationManager authenticationManager;
-
     @Mock
     private UserRepository userRepository;
 
@@ -43,34 +45,45 @@ class AuthServiceImplTest {
     private UserService userService;
 
     @Mock
-    private RoleRepository roleRepository;
+    private RoleCatalogService roleCatalogService;
 
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private LoginThrottleService loginThrottleService;
+
+    @Mock
+    private PendingRegistrationService pendingRegistrationService;
 
     @InjectMocks
     private AuthServiceImpl authService;
 
-    private User testUser;
     private Role userRole;
     private final String testEmail = "test@example.com";
     private final String testPassword = "password123";
     private final String encodedPassword = "encodedPassword123";
+    private final String clientIp = "127.0.0.1";
     private final UUID uuid = UUID.randomUUID();
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
 
     @BeforeEach
     void setUp() {
         userRole = new Role(1L, "ROLE_USER");
-        testUser = User.builder()
-                .id(uuid)
-                .email(testEmail)
-                .password(encodedPassword)
-                .emailConfirmed(true)
-                .roles(Set.of(userRole))
-                .build();
+    }
+
+    private UserCredentials credentials(boolean emailConfirmed) {
+        return projectionFactory.createProjection(UserCredentials.class, Map.of(
+                "id", uuid,
+                "email", testEmail,
+                "name", "Test User",
+                "password", encodedPassword,
+                "emailConfirmed", emailConfirmed,
+                "tokenVersion", 0,
+                "roles", "ROLE_USER"));
     }
 
     @Test
@@ -83,87 +96,129 @@ class AuthServiceImplTest {
         expectedResponse.setAccessToken("access-token");
         expectedResponse.setRefreshToken("refresh-token");
 
-        when(userService.getByEmail(testEmail)).thenReturn(testUser);
-        when(jwtTokenProvider.createAccessToken(eq(testEmail), anySet(), eq(uuid)))
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Optional.of(credentials(true)));
+        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
+        when(jwtTokenProvider.newTokenFamily()).thenReturn("family");
+        when(jwtTokenProvider.createAccessToken(testEmail, List.of("ROLE_USER"), uuid, 0, "family"))
                 .thenReturn("access-token");
-        when(jwtTokenProvider.createRefreshToken(uuid, testEmail))
+        when(jwtTokenProvider.createRefreshToken(uuid, testEmail, 0, "family"))
                 .thenReturn("refresh-token");
 
 
-        JwtResponse result = authService.loginWithEmailAndPassword(testEmail, testPassword);
+        JwtResponse result = authService.loginWithEmailAndPassword(testEmail, testPassword, clientIp);
 
         assertNotNull(result);
         assertEquals(expectedResponse.getId(), result.getId());
         assertEquals(expectedResponse.getEmail(), result.getEmail());
+        assertEquals("Test User", result.getName());
         assertEquals(expectedResponse.getAccessToken(), result.getAccessToken());
         assertEquals(expectedResponse.getRefreshToken(), result.getRefreshToken());
 
-        verify(authenticationManager).authenticate(
-                new UsernamePasswordAuthenticationToken(testEmail, testPassword));
-        verify(userService).getByEmail(testEmail);
-        verify(jwtTokenProvider).createAccessToken(eq(testEmail), anySet(), eq(uuid));
-        verify(jwtTokenProvider).createRefreshToken(uuid, testEmail);
+        verify(userRepository).findCredentialsByEmail(testEmail);
+        verifyNoInteractions(userService);
+        verify(jwtTokenProvider).createAccessToken(testEmail, List.of("ROLE_USER"), uuid, 0, "family");
+        verify(jwtTokenProvider).createRefreshToken(uuid, testEmail, 0, "family");
+    }
+
+    @Test
+    @DisplayName("Should re-encode an outdated password hash after successful login")
+    void loginWithEmailAndPassword_UpgradesPasswordHash() {
+
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Optional.of(credentials(true)));
+        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(encodedPassword)).thenReturn(true);
+        when(passwordEncoder.encode(testPassword)).thenReturn("{bcrypt}upgraded");
+        when(jwtTokenProvider.newTokenFamily()).thenReturn("family");
+
+        authService.loginWithEmailAndPassword(testEmail, testPassword, clientIp);
+
+        verify(userService).upgradePasswordHash(uuid, "{bcrypt}upgraded");
     }
 
     @Test
     @DisplayName("Should throw EmailNotConfirmedException when email is not confirmed")
     void loginWithEmailAndPassword_EmailNotConfirmed() {
 
-        testUser.setEmailConfirmed(false);
-        when(userService.getByEmail(testEmail)).thenReturn(testUser);
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Optional.of(credentials(false)));
+        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
 
 
         EmailNotConfirmedException exception = assertThrows(EmailNotConfirmedException.class,
-                () -> authService.loginWithEmailAndPassword(testEmail, testPassword));
+                () -> authService.loginWithEmailAndPassword(testEmail, testPassword, clientIp));
 
         assertEquals("Email not confirmed. Please check your email for confirmation link.",
                 exception.getMessage());
 
-        verify(authenticationManager).authenticate(
-                new UsernamePasswordAuthenticationToken(testEmail, testPassword));
-        verify(userService).getByEmail(testEmail);
-        verify(jwtTokenProvider, never()).createAccessToken(anyString(), anySet(), any());
-        verify(jwtTokenProvider, never()).createRefreshToken(any(), anyString());
+        verify(passwordEncoder).matches(testPassword, encodedPassword);
+        verify(jwtTokenProvider, never()).createAccessToken(anyString(), anyCollection(), any(), anyInt(), any());
+        verify(jwtTokenProvider, never()).createRefreshToken(any(), anyString(), anyInt(), any());
     }
 
     @Test
-    @DisplayName("Should throw BadCredentialsException when authentication fails")
+    @DisplayName("Should throw BadCredentialsException when the password does not match")
     void loginWithEmailAndPassword_InvalidCredentials() {
 
-        doThrow(new BadCredentialsException("INVALID_CREDENTIALS"))
-                .when(authenticationManager)
-                .authenticate(any(UsernamePasswordAuthenticationToken.class));
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Optional.of(credentials(true)));
+        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(false);
+
+
+        BadCredentialsException exception = assertThrows(BadCredentialsException.class,
+                () -> authService.loginWithEmailAndPassword(testEmail, testPassword, clientIp));
+
+        assertEquals("INVALID_CREDENTIALS", exception.getMessage());
+
+        verify(jwtTokenProvider, never()).createAccessToken(anyString(), anyCollection(), any(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Should hash once and throw BadCredentialsException for an unknown email")
+    void loginWithEmailAndPassword_UnknownEmail() {
+
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Optional.empty());
+        when(passwordEncoder.encode(anyString())).thenReturn("unknown-user-hash");
 
 
         BadCredentialsException exception = assertThrows(BadCredentialsException.class,
-                () -> authService.loginWithEmailAndPassword(testEmail, testPassword));
+                () -> authService.loginWithEmailAndPassword(testEmail, testPassword, clientIp));
 
         assertEquals("INVALID_CREDENTIALS", exception.getMessage());
 
-        verify(userService, never()).getByEmail(anyString());
-        verify(jwtTokenProvider, never()).createAccessToken(anyString(), anySet(), any());
+        verify(passwordEncoder).matches(testPassword, "unknown-user-hash");
+        verify(jwtTokenProvider, never()).createAccessToken(anyString(), anyCollection(), any(), anyInt(), any());
     }
 
     @Test
-    @DisplayName("Should throw DisabledException when user is disabled")
-    void loginWithEmailAndPassword_UserDisabled() {
+    @DisplayName("Should report an unconfirmed email for a pending registration")
+    void loginWithEmailAndPassword_PendingRegistration() {
+
+        User pending = User.builder().email(testEmail).password(encodedPassword).build();
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Optional.empty());
+        when(pendingRegistrationService.find(testEmail)).thenReturn(Optional.of(pending));
+        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
+
+
+        assertThrows(EmailNotConfirmedException.class,
+                () -> authService.loginWithEmailAndPassword(testEmail, testPassword, clientIp));
 
-        doThrow(new DisabledException("USER_DISABLED"))
-                .when(authenticationManager)
-                .authenticate(any(UsernamePasswordAuthenticationToken.class));
+        verify(passwordEncoder, never()).encode(anyString());
+        verify(jwtTokenProvider, never()).createAccessToken(anyString(), anyCollection(), any(), anyInt(), any());
+    }
 
+    @Test
+    @DisplayName("Should reject throttled login before checking the password")
+    void loginWithEmailAndPassword_Throttled() {
 
-        DisabledException exception = assertThrows(DisabledException.class,
-                () -> authService.loginWithEmailAndPassword(testEmail, testPassword));
+        doThrow(new TooManyRequestsException("Too many login attempts, please try again later", 60))
+                .when(loginThrottleService).checkLoginAllowed(testEmail, clientIp);
 
-        assertEquals("USER_DISABLED", exception.getMessage());
+        assertThrows(TooManyRequestsException.class,
+                () -> authService.loginWithEmailAndPassword(testEmail, testPassword, clientIp));
 
-        verify(userService, never()).getByEmail(anyString());
-        verify(jwtTokenProvider, never()).createAccessToken(anyString(), anySet(), any());
+        verifyNoInteractions(userRepository, passwordEncoder, userService);
     }
 
     @Test
-    @DisplayName("Should create user successfully")
+    @DisplayName("Should stage a new registration until its email is confirmed")
     void createUser_Success() throws Exception {
 
         User newUser = User.builder()
@@ -171,37 +226,47 @@ class AuthServiceImplTest {
                 .password("plainPassword")
                 .build();
 
-        User savedUser = User.builder()
-                .id(UUID.randomUUID())
-                .email("newuser@example.com")
-                .password(encodedPassword)
-                .emailConfirmed(false)
-                .confirmationCode("abc12345")
-                .created(LocalDateTime.now())
-                .roles(Set.of(userRole))
-                .build();
-
         when(userRepository.findByEmail(newUser.getEmail())).thenReturn(Optional.empty());
-        when(roleRepository.findByName("ROLE_USER")).thenReturn(Set.of(userRole));
         when(passwordEncoder.encode("plainPassword")).thenReturn(encodedPassword);
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(pendingRegistrationService.stage(newUser)).thenReturn(true);
 
 
         User result = authService.createUser(newUser);
 
 
         assertNotNull(result);
-        assertEquals(savedUser.getId(), result.getId());
-        assertEquals(savedUser.getEmail(), result.getEmail());
+        assertEquals("newuser@example.com", result.getEmail());
+        assertEquals(encodedPassword, result.getPassword());
         assertFalse(result.isEmailConfirmed());
         assertNotNull(result.getConfirmationCode());
         assertEquals(8, result.getConfirmationCode().length());
         assertNotNull(result.getCreated());
 
         verify(userRepository).findByEmail(newUser.getEmail());
-        verify(roleRepository).findByName("ROLE_USER");
-        verify(passwordEncoder).encode("plainPassword");
-        verify(userRepository).save(any(User.class));
+        verify(pendingRegistrationService).stage(newUser);
+        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(roleCatalogService);
+    }
+
+    @Test
+    @DisplayName("Should reject a registration that is already pending")
+    void createUser_RegistrationAlreadyPending() {
+
+        User newUser = User.builder()
+                .email("newuser@example.com")
+                .password("plainPassword")
+                .build();
+
+        when(userRepository.findByEmail(newUser.getEmail())).thenReturn(Optional.empty());
+        when(passwordEncoder.encode("plainPassword")).thenReturn(encodedPassword);
+        when(pendingRegistrationService.stage(newUser)).thenReturn(false);
+
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> authService.createUser(newUser));
+
+        assertEquals("User already taken", exception.getMessage());
+        verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
@@ -223,7 +288,7 @@ class AuthServiceImplTest {
         assertEquals("User already taken", exception.getMessage());
 
         verify(userRepository).findByEmail(existingUser.getEmail());
-        verify(roleRepository, never()).findByName(anyString());
+        verify(roleCatalogService, never()).getRoles(anyString());
         verify(passwordEncoder, never()).encode(anyString());
         verify(userRepository, never()).save(any(User.class));
     }
@@ -268,50 +333,38 @@ class AuthServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should authenticate successfully with valid credentials")
-    void authenticate_Success() {
+    @DisplayName("Should revoke token family on logout")
+    void logout_RevokesRefreshToken() {
 
-        authService.authenticate(testEmail, testPassword);
+        authService.logout("refresh-token");
 
-
-        verify(authenticationManager).authenticate(
-                new UsernamePasswordAuthenticationToken(testEmail, testPassword));
+        verify(jwtTokenProvider).revoke("refresh-token");
     }
 
     @Test
-    @DisplayName("Should throw DisabledException when authenticating disabled user")
-    void authenticate_UserDisabled() {
-
-        doThrow(new DisabledException("USER_DISABLED"))
-                .when(authenticationManager)
-                .authenticate(any(UsernamePasswordAuthenticationToken.class));
-
+    @DisplayName("Should authenticate successfully with valid credentials")
+    void authenticate_Success() {
 
-        DisabledException exception = assertThrows(DisabledException.class,
-                () -> authService.authenticate(testEmail, testPassword));
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Optional.of(credentials(true)));
+        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
 
-        assertEquals("USER_DISABLED", exception.getMessage());
+        assertDoesNotThrow(() -> authService.authenticate(testEmail, testPassword));
 
-        verify(authenticationManager).authenticate(
-                new UsernamePasswordAuthenticationToken(testEmail, testPassword));
+        verify(passwordEncoder).matches(testPassword, encodedPassword);
     }
 
     @Test
     @DisplayName("Should throw BadCredentialsException with invalid credentials")
     void authenticate_InvalidCredentials() {
 
-        doThrow(new BadCredentialsException("INVALID_CREDENTIALS"))
-                .when(authenticationManager)
-                .authenticate(any(UsernamePasswordAuthenticationToken.class));
+        when(userRepository.findCredentialsByEmail(testEmail)).thenReturn(Optional.of(credentials(true)));
+        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(false);
 
 
         BadCredentialsException exception = assertThrows(BadCredentialsException.class,
                 () -> authService.authenticate(testEmail, testPassword));
 
         assertEquals("INVALID_CREDENTIALS", exception.getMessage());
-
-        verify(authenticationManager).authenticate(
-                new UsernamePasswordAuthenticationToken(testEmail, testPassword));
     }
 
     @Test
@@ -332,4 +385,28 @@ class AuthServiceImplTest {
             assertEquals(8, newCode.length());
         }
     }
+
+    @Test
+    @DisplayName("Should introspect every token once and keep the request order")
+    void introspect_Batch() {
+
+        Claims claims = Jwts.claims().setSubject(testEmail);
+        claims.put("id", uuid.toString());
+        claims.put("roles", List.of("ROLE_USER"));
+        claims.setExpiration(new Date(System.currentTimeMillis() + 600_000));
+        when(jwtTokenProvider.introspect("active")).thenReturn(claims);
+        when(jwtTokenProvider.introspect("revoked")).thenReturn(null);
+
+        List<TokenIntrospection> result = authService.introspect(List.of("active", "revoked", "active"));
+
+        assertEquals(3, result.size());
+        assertTrue(result.get(0).isActive());
+        assertEquals(testEmail, result.get(0).getSub());
+        assertEquals(uuid, result.get(0).getId());
+        assertEquals(List.of("ROLE_USER"), result.get(0).getRoles());
+        assertFalse(result.get(1).isActive());
+        assertNull(result.get(1).getSub());
+        assertSame(result.get(0), result.get(2));
+        verify(jwtTokenProvider, times(1)).introspect("active");
+    }
 }
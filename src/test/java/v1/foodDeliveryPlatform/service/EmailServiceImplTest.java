@@ -16,6 +16,7 @@ import v1.foodDeliveryPlatform.model.User;
 import v1.foodDeliveryPlatform.model.enums.MailType;
 import v1.foodDeliveryPlatform.service.impl.EmailServiceImpl;
 
+import java.util.Optional;
 import java.util.Properties;
 import java.util.UUID;
 
@@ -36,6 +37,9 @@ class EmailServiceImplTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private PendingRegistrationService pendingRegistrationService;
+
     @Mock
     private MimeMessage mimeMessage;
 
@@ -177,22 +181,57 @@ class EmailServiceImplTest {
         when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
         when(templateEngine.process(eq("register"), any(Context.class)))
                 .thenReturn("<html>Welcome email content</html>");
-        doAnswer(invocation -> {
-            User user = invocation.getArgument(0);
-            user.setEmailConfirmed(true);
-            user.setConfirmationCode(null);
-            return null;
-        }).when(userService).updateUser(any(User.class));
 
         emailService.confirmEmail("test@example.com", "ABC123");
 
         verify(userService).getByEmail("test@example.com");
-        verify(userService).updateUser(userToUpdate);
+        verify(userService).confirmEmail(uuid);
+        verify(userService, never()).updateUser(any(User.class));
         assertTrue(userToUpdate.isEmailConfirmed());
         assertNull(userToUpdate.getConfirmationCode());
         verify(mailSender).send(mimeMessage);
     }
 
+    @Test
+    @DisplayName("Should promote a pending registration on confirmation")
+    void confirmEmail_PromotesPendingRegistration() {
+
+        User pending = new User();
+        pending.setEmail("test@example.com");
+        pending.setName("Test User");
+        pending.setConfirmationCode("ABC123");
+
+        when(pendingRegistrationService.find("test@example.com")).thenReturn(Optional.of(pending));
+        when(userService.createConfirmed(pending)).thenReturn(testUser);
+        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        when(templateEngine.process(eq("register"), any(Context.class)))
+                .thenReturn("<html>Welcome email content</html>");
+
+        emailService.confirmEmail("test@example.com", "ABC123");
+
+        verify(userService).createConfirmed(pending);
+        verify(pendingRegistrationService).remove("test@example.com");
+        verify(userService, never()).getByEmail(any());
+        verify(mailSender).send(mimeMessage);
+    }
+
+    @Test
+    @DisplayName("Should keep a pending registration when the code is invalid")
+    void confirmEmail_PendingRegistrationInvalidCode() {
+
+        User pending = new User();
+        pending.setEmail("test@example.com");
+        pending.setConfirmationCode("ABC123");
+        when(pendingRegistrationService.find("test@example.com")).thenReturn(Optional.of(pending));
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> emailService.confirmEmail("test@example.com", "WRONG_CODE"));
+
+        assertEquals("Invalid confirmation code", exception.getMessage());
+        verify(userService, never()).createConfirmed(any());
+        verify(pendingRegistrationService, never()).remove(any());
+    }
+
     @Test
     @DisplayName("Should throw exception when user not found during confirmation")
     void confirmEmail_UserNotFound_ShouldThrowException() {
@@ -204,7 +243,7 @@ class EmailServiceImplTest {
                 () -> emailService.confirmEmail("nonexistent@example.com", "ABC123"));
 
         assertEquals("User not found", exception.getMessage());
-        verify(userService, never()).updateUser(any(User.class));
+        verify(userService, never()).confirmEmail(any());
     }
 
     @Test
@@ -218,7 +257,7 @@ class EmailServiceImplTest {
                 () -> emailService.confirmEmail("test@example.com", "WRONG_CODE"));
 
         assertEquals("Invalid confirmation code", exception.getMessage());
-        verify(userService, never()).updateUser(any(User.class));
+        verify(userService, never()).confirmEmail(any());
     }
 
     @Test
@@ -241,7 +280,7 @@ class EmailServiceImplTest {
                 emailService.confirmEmail("test@example.com", "ABC123")
         );
 
-        verify(userService).updateUser(testUser);
+        verify(userService).confirmEmail(testUser.getId());
         verify(mailSender).send(mimeMessage);
     }
 
@@ -0,0 +1,90 @@
+package v1.foodDeliveryPlatform.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
+import v1.foodDeliveryPlatform.security.props.LoginThrottleProps;
+import v1.foodDeliveryPlatform.service.impl.LoginThrottleServiceImpl;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginThrottleServiceImplTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginThrottleServiceImpl loginThrottleService;
+
+    @BeforeEach
+    void setUp() {
+        LoginThrottleProps props = new LoginThrottleProps();
+        props.setEmailLimit(3);
+        props.setIpLimit(10);
+        props.setWindow(Duration.ofMinutes(1));
+        loginThrottleService = new LoginThrottleServiceImpl(props, redisTemplate, meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void redisReturns(Long result) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(result);
+    }
+
+    @Test
+    @DisplayName("Should reject attempts over the email limit locally without calling Redis")
+    void checkLoginAllowed_LocalBucketExhausted() {
+        redisReturns(0L);
+
+        for (int i = 0; i < 3; i++) {
+            loginThrottleService.checkLoginAllowed("Test@Example.com", "10.0.0.1");
+        }
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> loginThrottleService.checkLoginAllowed("test@example.com", "10.0.0.2"));
+
+        assertTrue(exception.getRetryAfterSeconds() > 0);
+        verify(redisTemplate, times(3)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled")
+                .tag("scope", "email").tag("tier", "local").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject when the shared window of the client IP is full")
+    void checkLoginAllowed_SharedWindowExhausted() {
+        redisReturns(2L);
+
+        assertThrows(TooManyRequestsException.class,
+                () -> loginThrottleService.checkLoginAllowed("test@example.com", "10.0.0.1"));
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("auth:login-attempts:email:test@example.com", "auth:login-attempts:ip:10.0.0.1")),
+                any(Object[].class));
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled")
+                .tag("scope", "ip").tag("tier", "redis").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should allow the attempt when Redis is unavailable")
+    void checkLoginAllowed_RedisUnavailable() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertDoesNotThrow(() -> loginThrottleService.checkLoginAllowed("test@example.com", "10.0.0.1"));
+        assertEquals(1.0, meterRegistry.get("auth.login.throttle.errors").counter().count());
+    }
+}
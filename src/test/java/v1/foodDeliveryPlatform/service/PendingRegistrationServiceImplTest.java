@@ -0,0 +1,100 @@
+package v1.foodDeliveryPlatform.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import v1.foodDeliveryPlatform.config.props.RegistrationProps;
+import v1.foodDeliveryPlatform.model.User;
+import v1.foodDeliveryPlatform.service.impl.PendingRegistrationServiceImpl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PendingRegistrationServiceImplTest {
+
+    private static final String KEY = "auth:pending-registration:new@example.com";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PendingRegistrationServiceImpl pendingRegistrationService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        RegistrationProps props = new RegistrationProps();
+        props.setPendingTtl(Duration.ofMinutes(15));
+        pendingRegistrationService = new PendingRegistrationServiceImpl(redisTemplate, props, meterRegistry);
+
+        user = new User();
+        user.setEmail("new@example.com");
+        user.setName("New User");
+        user.setPassword("hash");
+        user.setConfirmationCode("abc12345");
+        user.setCreated(LocalDateTime.of(2025, 1, 1, 10, 0));
+    }
+
+    @Test
+    void stage_StoresRegistrationWithTtl() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(KEY)), eq("new@example.com"), eq("New User"),
+                eq("hash"), eq("abc12345"), eq("2025-01-01T10:00"), eq("900000"))).thenReturn(1L);
+
+        assertTrue(pendingRegistrationService.stage(user));
+        assertEquals(1, meterRegistry.get("auth.registration.staged").counter().count());
+    }
+
+    @Test
+    void stage_RejectsWhenAlreadyPending() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(KEY)), any(Object[].class))).thenReturn(0L);
+
+        assertFalse(pendingRegistrationService.stage(user));
+        assertEquals(0, meterRegistry.get("auth.registration.staged").counter().count());
+    }
+
+    @Test
+    void find_RestoresStagedUser() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(KEY)).thenReturn(Map.of(
+                "email", "new@example.com",
+                "name", "New User",
+                "password", "hash",
+                "code", "abc12345",
+                "created", "2025-01-01T10:00"));
+
+        User found = pendingRegistrationService.find("new@example.com").orElseThrow();
+
+        assertNull(found.getId());
+        assertEquals("New User", found.getName());
+        assertEquals("hash", found.getPassword());
+        assertEquals("abc12345", found.getConfirmationCode());
+        assertEquals(user.getCreated(), found.getCreated());
+        assertFalse(found.isEmailConfirmed());
+    }
+
+    @Test
+    void find_EmptyWhenExpired() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries(KEY)).thenReturn(Map.of());
+
+        assertEquals(Optional.empty(), pendingRegistrationService.find("new@example.com"));
+    }
+}
@@ -0,0 +1,120 @@
+package v1.foodDeliveryPlatform.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import v1.foodDeliveryPlatform.config.props.JobLockProps;
+import v1.foodDeliveryPlatform.service.impl.RedisJobLockService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisJobLockServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JobLockProps props;
+    private RedisJobLockService jobLockService;
+
+    @BeforeEach
+    void setUp() {
+        props = new JobLockProps();
+        props.setNodeId("node-1");
+        props.setLeaseTime(Duration.ofSeconds(1));
+        props.setRenewEvery(Duration.ofMillis(50));
+        props.setMinHold(Duration.ZERO);
+        jobLockService = new RedisJobLockService(redisTemplate, props, meterRegistry);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobLockService.shutdown();
+    }
+
+    @Test
+    void runExclusively_RunsAndReleasesWhenLeaseTaken() {
+        when(valueOperations.setIfAbsent(eq("scheduling:lock:job"), startsWith("node-1:"), eq(Duration.ofSeconds(1))))
+                .thenReturn(true);
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertTrue(jobLockService.runExclusively("job", () -> ran.set(true)));
+
+        assertTrue(ran.get());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("scheduling:lock:job")),
+                startsWith("node-1:"), eq("0"));
+        assertEquals(1, meterRegistry.get("scheduling.lock.runs")
+                .tag("job", "job").tag("node", "node-1").counter().count());
+    }
+
+    @Test
+    void runExclusively_SkipsWhenLeasedElsewhere() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(false);
+
+        assertFalse(jobLockService.runExclusively("job", () -> fail("must not run")));
+
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        assertEquals(1, meterRegistry.get("scheduling.lock.skipped").counter().count());
+    }
+
+    @Test
+    void runExclusively_SkipsWhenRedisUnavailable() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        assertFalse(jobLockService.runExclusively("job", () -> fail("must not run")));
+
+        assertEquals(1, meterRegistry.get("scheduling.lock.errors").counter().count());
+    }
+
+    @Test
+    void runExclusively_RenewsLeaseDuringLongRun() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), eq("1000"))).thenReturn(1L);
+
+        jobLockService.runExclusively("job", () -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        verify(redisTemplate, atLeastOnce()).execute(any(RedisScript.class), eq(List.of("scheduling:lock:job")),
+                startsWith("node-1:"), eq("1000"));
+    }
+
+    @Test
+    void runExclusively_KeepsLeaseForMinimumHold() {
+        props.setMinHold(Duration.ofMinutes(1));
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(true);
+
+        jobLockService.runExclusively("job", () -> { });
+
+        verify(redisTemplate).execute(any(RedisScript.class), anyList(), anyString(),
+                argThat((String remaining) -> Long.parseLong(remaining) > 50_000));
+    }
+}
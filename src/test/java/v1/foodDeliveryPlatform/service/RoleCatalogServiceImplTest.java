@@ -0,0 +1,62 @@
+package v1.foodDeliveryPlatform.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import v1.foodDeliveryPlatform.model.Role;
+import v1.foodDeliveryPlatform.repository.RoleRepository;
+import v1.foodDeliveryPlatform.service.impl.RoleCatalogServiceImpl;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoleCatalogServiceImplTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @InjectMocks
+    private RoleCatalogServiceImpl roleCatalogService;
+
+    @BeforeEach
+    void setUp() {
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(1L, "ROLE_USER"), new Role(3L, "ROLE_ADMIN")));
+        roleCatalogService.refresh();
+    }
+
+    @Test
+    void getRoles_ServedFromCatalog() {
+        Set<Role> first = roleCatalogService.getRoles("ROLE_USER");
+        Set<Role> second = roleCatalogService.getRoles("ROLE_USER");
+
+        assertEquals(Set.of(new Role(1L, "ROLE_USER")), first);
+        assertNotSame(first.iterator().next(), second.iterator().next());
+        assertTrue(roleCatalogService.getRoles("ROLE_UNKNOWN").isEmpty());
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void getAuthority_SharedInstance() {
+        assertSame(roleCatalogService.getAuthority("ROLE_ADMIN"), roleCatalogService.getAuthority("ROLE_ADMIN"));
+        assertEquals(new SimpleGrantedAuthority("ROLE_ADMIN"), roleCatalogService.getAuthority("ROLE_ADMIN"));
+        assertEquals(new SimpleGrantedAuthority("ROLE_OTHER"), roleCatalogService.getAuthority("ROLE_OTHER"));
+    }
+
+    @Test
+    void refresh_PicksUpNewRoles() {
+        when(roleRepository.findAll()).thenReturn(List.of(new Role(1L, "ROLE_USER"), new Role(2L, "ROLE_MANAGER")));
+
+        roleCatalogService.refresh();
+
+        assertEquals(Set.of(new Role(2L, "ROLE_MANAGER")), roleCatalogService.getRoles("ROLE_MANAGER"));
+        assertTrue(roleCatalogService.getRoles("ROLE_ADMIN").isEmpty());
+    }
+}
@@ -1,20 +1,27 @@
 package v1.foodDeliveryPlatform.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import v1.foodDeliveryPlatform.model.User;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import v1.foodDeliveryPlatform.config.props.UserCleanupProps;
+import v1.foodDeliveryPlatform.repository.AddressRepository;
 import v1.foodDeliveryPlatform.repository.UserRepository;
 import v1.foodDeliveryPlatform.service.impl.UserCleanupServiceImpl;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,62 +30,103 @@ class UserCleanupServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
-    private UserCleanupServiceImpl userCleanupService;
+    @Mock
+    private AddressRepository addressRepository;
 
-    @Test
-    void cleanupUnconfirmedUsers_ShouldDeleteUnconfirmedUsers() {
-        User user1 = new User();
-        user1.setEmail("user1@test.com");
-        user1.setEmailConfirmed(false);
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
 
-        User user2 = new User();
-        user2.setEmail("user2@test.com");
-        user2.setEmailConfirmed(false);
+    @Mock
+    private JobLockService jobLockService;
 
-        List<User> unconfirmedUsers = Arrays.asList(user1, user2);
+    private UserCleanupProps props;
+    private SimpleMeterRegistry meterRegistry;
+    private UserCleanupServiceImpl userCleanupService;
 
-        when(userRepository.findByEmailConfirmedFalseAndCreatedAtBefore(any(LocalDateTime.class)))
-                .thenReturn(unconfirmedUsers);
+    @BeforeEach
+    void setUp() {
+        props = new UserCleanupProps();
+        props.setChunkSize(2);
+        props.setMaxChunksPerRun(3);
+        meterRegistry = new SimpleMeterRegistry();
+        userCleanupService = new UserCleanupServiceImpl(
+                userRepository, addressRepository, transactionManager, jobLockService, props, meterRegistry);
+    }
+
+    @Test
+    void cleanupUnconfirmedUsers_ShouldDeleteInChunksUntilShortChunk() {
+        List<UUID> first = List.of(UUID.randomUUID(), UUID.randomUUID());
+        List<UUID> second = List.of(UUID.randomUUID());
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        when(userRepository.lockUnconfirmedIdsCreatedBefore(any(LocalDateTime.class), eq(2)))
+                .thenReturn(first)
+                .thenReturn(second);
+        when(userRepository.deleteDirectlyByIdIn(first)).thenReturn(2);
+        when(userRepository.deleteDirectlyByIdIn(second)).thenReturn(1);
 
         userCleanupService.cleanupUnconfirmedUsers();
 
-        verify(userRepository).deleteAll(unconfirmedUsers);
+        verify(userRepository).deleteRolesByUserIdIn(first);
+        verify(addressRepository).deleteByUserIdIn(first);
+        verify(userRepository).deleteRolesByUserIdIn(second);
+        verify(addressRepository).deleteByUserIdIn(second);
+        verify(userRepository, times(2)).lockUnconfirmedIdsCreatedBefore(any(LocalDateTime.class), anyInt());
+        verify(transactionManager, times(2)).commit(transactionStatus);
+        assertEquals(3, meterRegistry.get("users.cleanup.deleted").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("users.cleanup.duration").timer().count());
     }
 
     @Test
     void cleanupUnconfirmedUsers_ShouldNotDeleteWhenNoUnconfirmedUsers() {
-        when(userRepository.findByEmailConfirmedFalseAndCreatedAtBefore(any(LocalDateTime.class)))
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        when(userRepository.lockUnconfirmedIdsCreatedBefore(any(LocalDateTime.class), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         userCleanupService.cleanupUnconfirmedUsers();
 
-        verify(userRepository, never()).deleteAll(any());
+        verify(userRepository, never()).deleteRolesByUserIdIn(any());
+        verify(addressRepository, never()).deleteByUserIdIn(any());
+        verify(userRepository, never()).deleteDirectlyByIdIn(any());
+        assertEquals(0, meterRegistry.get("users.cleanup.deleted").summary().totalAmount());
     }
 
     @Test
-    void cleanupUnconfirmedUsers_ShouldLogDeletionCount() {
-        User user1 = new User();
-        user1.setEmail("user1@test.com");
-        user1.setEmailConfirmed(false);
-
-        List<User> unconfirmedUsers = List.of(user1);
-
-        when(userRepository.findByEmailConfirmedFalseAndCreatedAtBefore(any(LocalDateTime.class)))
-                .thenReturn(unconfirmedUsers);
+    void cleanupUnconfirmedUsers_ShouldStopAfterMaxChunks() {
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        when(userRepository.lockUnconfirmedIdsCreatedBefore(any(LocalDateTime.class), anyInt()))
+                .thenAnswer(invocation -> List.of(UUID.randomUUID(), UUID.randomUUID()));
+        when(userRepository.deleteDirectlyByIdIn(any())).thenReturn(2);
 
         userCleanupService.cleanupUnconfirmedUsers();
 
-        verify(userRepository).deleteAll(unconfirmedUsers);
+        verify(userRepository, times(3)).deleteDirectlyByIdIn(any());
+        assertEquals(6, meterRegistry.get("users.cleanup.deleted").summary().totalAmount());
     }
 
     @Test
-    void autoCleanup_ShouldCallCleanupUnconfirmedUsers() {
-        when(userRepository.findByEmailConfirmedFalseAndCreatedAtBefore(any(LocalDateTime.class)))
+    void autoCleanup_ShouldCallCleanupUnconfirmedUsersWhenLeased() {
+        when(jobLockService.runExclusively(eq("user-cleanup"), any())).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return true;
+        });
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        when(userRepository.lockUnconfirmedIdsCreatedBefore(any(LocalDateTime.class), anyInt()))
                 .thenReturn(Collections.emptyList());
 
         userCleanupService.autoCleanup();
 
-        verify(userRepository).findByEmailConfirmedFalseAndCreatedAtBefore(any(LocalDateTime.class));
+        verify(userRepository).lockUnconfirmedIdsCreatedBefore(any(LocalDateTime.class), anyInt());
+    }
+
+    @Test
+    void autoCleanup_ShouldSkipWhenLeasedByAnotherNode() {
+        when(jobLockService.runExclusively(eq("user-cleanup"), any())).thenReturn(false);
+
+        userCleanupService.autoCleanup();
+
+        verifyNoInteractions(userRepository, addressRepository, transactionManager);
     }
 }
@@ -0,0 +1,88 @@
+package v1.foodDeliveryPlatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import v1.foodDeliveryPlatform.config.props.UserExportProps;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
+import v1.foodDeliveryPlatform.model.enums.DataFormat;
+import v1.foodDeliveryPlatform.service.impl.UserExportServiceImpl;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceImplTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserExportServiceImpl userExportService;
+
+    @BeforeEach
+    void setUp() {
+        UserExportProps props = new UserExportProps();
+        props.setMaxConcurrent(1);
+        meterRegistry = new SimpleMeterRegistry();
+        userExportService = new UserExportServiceImpl(
+                dataSource, transactionManager, new ObjectMapper(), props, meterRegistry);
+    }
+
+    @Test
+    void startExport_RejectsWhenAllSlotsTaken() {
+
+        userExportService.startExport(DataFormat.NDJSON);
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> userExportService.startExport(DataFormat.CSV));
+
+        assertEquals(30, exception.getRetryAfterSeconds());
+        assertEquals(1, meterRegistry.get("users.export.rejected").counter().count());
+    }
+
+    @Test
+    void writeTo_ReleasesSlotWhenExportFails() throws Exception {
+
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        UserExportService.Export export = userExportService.startExport(DataFormat.CSV);
+
+        assertThrows(CannotGetJdbcConnectionException.class,
+                () -> export.writeTo(new ByteArrayOutputStream()));
+        assertDoesNotThrow(() -> userExportService.startExport(DataFormat.CSV));
+    }
+
+    @Test
+    void release_FreesSlotOnceWhenExportNeverRuns() {
+
+        UserExportService.Export export = userExportService.startExport(DataFormat.NDJSON);
+        export.release();
+        export.release();
+
+        UserExportService.Export next = userExportService.startExport(DataFormat.NDJSON);
+        assertThrows(TooManyRequestsException.class, () -> userExportService.startExport(DataFormat.NDJSON));
+        assertThrows(IllegalStateException.class, () -> export.writeTo(new ByteArrayOutputStream()));
+        assertNotNull(next);
+        verifyNoInteractions(dataSource);
+    }
+}
@@ -0,0 +1,235 @@
+package v1.foodDeliveryPlatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.util.unit.DataSize;
+import v1.foodDeliveryPlatform.config.props.UserImportProps;
+import v1.foodDeliveryPlatform.dto.model.ImportReport;
+import v1.foodDeliveryPlatform.exception.PayloadTooLargeException;
+import v1.foodDeliveryPlatform.exception.ResourceNotFoundException;
+import v1.foodDeliveryPlatform.exception.TooManyRequestsException;
+import v1.foodDeliveryPlatform.model.Role;
+import v1.foodDeliveryPlatform.model.enums.DataFormat;
+import v1.foodDeliveryPlatform.model.enums.MailType;
+import v1.foodDeliveryPlatform.service.impl.UserImportServiceImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceImplTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private RoleCatalogService roleCatalogService;
+
+    @Mock
+    private EmailService emailService;
+
+    private UserImportProps props;
+    private SimpleMeterRegistry meterRegistry;
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    void setUp() {
+        props = new UserImportProps();
+        props.setHashingThreads(2);
+        meterRegistry = new SimpleMeterRegistry();
+
+        Role role = new Role();
+        role.setId(1L);
+        role.setName("ROLE_USER");
+        lenient().when(roleCatalogService.getRoles("ROLE_USER")).thenReturn(Set.of(role));
+        lenient().when(namedJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        lenient().when(passwordEncoder.encode(anyString())).thenReturn("hash");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.shutdown();
+    }
+
+    @Test
+    void startImport_SkipsInvalidAndDuplicateRows() throws Exception {
+        createService();
+        when(namedJdbcTemplate.queryForList(anyString(), anyMap(), eq(String.class)))
+                .thenReturn(List.of("taken@example.com"));
+        String csv = """
+                email,password,name
+                first@example.com,secret1,First
+                first@example.com,secret2,First Again
+                not-an-email,secret3,Broken
+                taken@example.com,secret4,Taken
+                "second@example.com","sec,ret5","Second, Jr."
+                """;
+
+        ImportReport report = awaitFinished(userImportService.startImport(DataFormat.CSV, body(csv), -1).getId());
+
+        assertEquals("COMPLETED", report.getStatus());
+        assertEquals(5, report.getProcessed());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getDuplicates());
+        assertEquals(1, report.getInvalid());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> users = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO users"), users.capture());
+        assertEquals(List.of("first@example.com", "second@example.com"),
+                users.getValue().stream().map(row -> row[1]).toList());
+        assertEquals("Second, Jr.", users.getValue().get(1)[3]);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO user_role"), anyList());
+        verify(transactionManager).commit(transactionStatus);
+        verify(emailService, timeout(1000).times(2)).sendEmail(any(), eq(MailType.REGISTRATION), any());
+        assertEquals(2, meterRegistry.get("users.import.rows").tag("outcome", "imported").counter().count());
+    }
+
+    @Test
+    void startImport_RetriesBatchWithoutConcurrentlyRegisteredEmails() throws Exception {
+        createService();
+        when(namedJdbcTemplate.queryForList(anyString(), anyMap(), eq(String.class)))
+                .thenReturn(List.of())
+                .thenReturn(List.of("first@example.com"));
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO users"), anyList()))
+                .thenThrow(new DuplicateKeyException("users_email_key"))
+                .thenReturn(new int[]{1});
+        String ndjson = """
+                {"email":"first@example.com","password":"secret1","name":"First"}
+                {"email":"second@example.com","password":"secret2","name":"Second"}
+                {not json}
+                """;
+
+        ImportReport report = awaitFinished(userImportService.startImport(DataFormat.NDJSON, body(ndjson), -1).getId());
+
+        assertEquals("COMPLETED", report.getStatus());
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getDuplicates());
+        assertEquals(1, report.getInvalid());
+        verify(emailService, timeout(1000)).sendEmail(any(), eq(MailType.REGISTRATION), any());
+    }
+
+    @Test
+    void startImport_FailsWithoutCsvHeader() throws Exception {
+        createService();
+
+        ImportReport report = awaitFinished(userImportService
+                .startImport(DataFormat.CSV, body("first@example.com,secret1,First\n"), -1).getId());
+
+        assertEquals("FAILED", report.getStatus());
+        assertEquals("CSV header must contain email, password and name", report.getError());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void startImport_RejectsWhenQueueIsFull() throws Exception {
+        props.setMaxQueuedJobs(1);
+        createService();
+        CountDownLatch release = new CountDownLatch(1);
+        when(namedJdbcTemplate.queryForList(anyString(), anyMap(), eq(String.class))).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        String ndjson = "{\"email\":\"first@example.com\",\"password\":\"secret1\",\"name\":\"First\"}\n";
+
+        UUID running = userImportService.startImport(DataFormat.NDJSON, body(ndjson), -1).getId();
+        userImportService.startImport(DataFormat.NDJSON, body(ndjson), -1);
+        InputStream rejected = mock(InputStream.class);
+
+        assertThrows(TooManyRequestsException.class,
+                () -> userImportService.startImport(DataFormat.NDJSON, rejected, -1));
+        verifyNoInteractions(rejected);
+
+        release.countDown();
+        assertEquals("COMPLETED", awaitFinished(running).getStatus());
+    }
+
+    @Test
+    void startImport_RejectsDeclaredOversizedBodyWithoutReadingIt() {
+        props.setMaxImportSize(DataSize.ofBytes(16));
+        createService();
+        InputStream body = mock(InputStream.class);
+
+        assertThrows(PayloadTooLargeException.class,
+                () -> userImportService.startImport(DataFormat.NDJSON, body, 17));
+        verifyNoInteractions(body);
+    }
+
+    @Test
+    void startImport_StopsSpoolingOversizedBody() {
+        props.setMaxImportSize(DataSize.ofBytes(16));
+        createService();
+        String ndjson = "{\"email\":\"first@example.com\",\"password\":\"secret1\",\"name\":\"First\"}\n";
+
+        assertThrows(PayloadTooLargeException.class,
+                () -> userImportService.startImport(DataFormat.NDJSON, body(ndjson), -1));
+        verifyNoInteractions(namedJdbcTemplate);
+    }
+
+    @Test
+    void getReport_NotFound() {
+        createService();
+
+        assertThrows(ResourceNotFoundException.class, () -> userImportService.getReport(UUID.randomUUID()));
+    }
+
+    private void createService() {
+        userImportService = new UserImportServiceImpl(namedJdbcTemplate, transactionManager, passwordEncoder,
+                roleCatalogService, emailService, new ObjectMapper(), props, meterRegistry);
+    }
+
+    private ImportReport awaitFinished(UUID id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ImportReport report = userImportService.getReport(id);
+            if (!report.getStatus().equals("QUEUED") && !report.getStatus().equals("RUNNING")) {
+                return report;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Import " + id + " did not finish");
+    }
+
+    private static ByteArrayInputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
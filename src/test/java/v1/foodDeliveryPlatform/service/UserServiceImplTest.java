@@ -5,15 +5,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import v1.foodDeliveryPlatform.cache.UserCacheInvalidator;
 import v1.foodDeliveryPlatform.exception.ResourceNotFoundException;
 import v1.foodDeliveryPlatform.model.Role;
 import v1.foodDeliveryPlatform.model.User;
-import v1.foodDeliveryPlatform.repository.RoleRepository;
+import v1.foodDeliveryPlatform.model.UserCursor;
+import v1.foodDeliveryPlatform.model.UserPage;
 import v1.foodDeliveryPlatform.repository.UserRepository;
+import v1.foodDeliveryPlatform.security.token.TokenVersionService;
 import v1.foodDeliveryPlatform.service.impl.UserServiceImpl;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -21,6 +26,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,11 +36,17 @@ class UserServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private RoleCatalogService roleCatalogService;
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @Mock
+    private UserCacheInvalidator userCacheInvalidator;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -44,47 +56,47 @@ class UserServiceImplTest {
     @Test
     void getById_Success() {
         User user = createTestUser();
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.of(user));
 
         User result = userService.getById(userId);
 
         assertNotNull(result);
         assertEquals(userId, result.getId());
-        verify(userRepository).findById(userId);
+        verify(userRepository).findProfileById(userId);
     }
 
     @Test
     void getById_NotFound() {
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> userService.getById(userId));
 
         assertEquals("User not found", exception.getMessage());
-        verify(userRepository).findById(userId);
+        verify(userRepository).findProfileById(userId);
     }
 
     @Test
     void getByEmail_Success() {
         User user = createTestUser();
-        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(user));
+        when(userRepository.findWithRolesByEmail(userEmail)).thenReturn(Optional.of(user));
 
         User result = userService.getByEmail(userEmail);
 
         assertNotNull(result);
         assertEquals(userEmail, result.getEmail());
-        verify(userRepository).findByEmail(userEmail);
+        verify(userRepository).findWithRolesByEmail(userEmail);
     }
 
     @Test
     void getByEmail_NotFound() {
-        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.empty());
+        when(userRepository.findWithRolesByEmail(userEmail)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> userService.getByEmail(userEmail));
 
         assertEquals("User not found", exception.getMessage());
-        verify(userRepository).findByEmail(userEmail);
+        verify(userRepository).findWithRolesByEmail(userEmail);
     }
 
     @Test
@@ -94,7 +106,7 @@ class UserServiceImplTest {
         updateData.setEmail("new@example.com");
         updateData.setName("New Name");
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(existingUser));
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.of(existingUser));
         when(userRepository.save(existingUser)).thenReturn(existingUser);
 
         User result = userService.updateUser(updateData);
@@ -103,14 +115,15 @@ class UserServiceImplTest {
         assertEquals("new@example.com", existingUser.getEmail());
         assertEquals("New Name", existingUser.getName());
         assertNotNull(existingUser.getUpdated());
-        verify(userRepository).findById(userId);
+        verify(userRepository).findProfileById(userId);
         verify(userRepository).save(existingUser);
+        verify(userCacheInvalidator).evictUser(userId);
     }
 
     @Test
     void updateUser_NotFound() {
         User updateData = createTestUser();
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> userService.updateUser(updateData));
@@ -126,6 +139,8 @@ class UserServiceImplTest {
         assertDoesNotThrow(() -> userService.delete(userId));
 
         verify(userRepository).deleteById(userId);
+        verify(tokenVersionService).invalidate(userId);
+        verify(userCacheInvalidator).evictUser(userId);
     }
 
     @Test
@@ -137,6 +152,8 @@ class UserServiceImplTest {
 
         assertEquals("DB error", exception.getMessage());
         verify(userRepository).deleteById(userId);
+        verify(tokenVersionService, never()).invalidate(any());
+        verifyNoInteractions(userCacheInvalidator);
     }
 
     @Test
@@ -146,17 +163,20 @@ class UserServiceImplTest {
         Role managerRole = createRole(2L, "ROLE_MANAGER");
         user.setRoles(Set.of(userRole));
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(roleRepository.findByName("ROLE_USER")).thenReturn(Set.of(userRole));
-        when(roleRepository.findByName("ROLE_MANAGER")).thenReturn(Set.of(managerRole));
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.of(user));
+        when(roleCatalogService.getRoles("ROLE_USER")).thenReturn(Set.of(userRole));
+        when(roleCatalogService.getRoles("ROLE_MANAGER")).thenReturn(Set.of(managerRole));
         when(userRepository.save(user)).thenReturn(user);
 
         User result = userService.updateRole(userId);
 
         assertNotNull(result);
         assertEquals(Set.of(managerRole), user.getRoles());
-        verify(userRepository).findById(userId);
+        verify(userRepository).findProfileById(userId);
         verify(userRepository).save(user);
+        verify(userRepository).incrementTokenVersion(userId);
+        verify(tokenVersionService).invalidate(userId);
+        verify(userCacheInvalidator).evictUser(userId);
     }
 
     @Test
@@ -166,16 +186,17 @@ class UserServiceImplTest {
         Role userRole = createRole(1L, "ROLE_USER");
         user.setRoles(Set.of(managerRole));
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(roleRepository.findByName("ROLE_USER")).thenReturn(Set.of(userRole));
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.of(user));
+        when(roleCatalogService.getRoles("ROLE_USER")).thenReturn(Set.of(userRole));
         when(userRepository.save(user)).thenReturn(user);
 
         User result = userService.updateRole(userId);
 
         assertNotNull(result);
         assertEquals(Set.of(userRole), user.getRoles());
-        verify(userRepository).findById(userId);
+        verify(userRepository).findProfileById(userId);
         verify(userRepository).save(user);
+        verify(userRepository).incrementTokenVersion(userId);
     }
 
     @Test
@@ -184,7 +205,7 @@ class UserServiceImplTest {
         String newPassword = "newPassword123";
         String encodedPassword = "encodedPassword";
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.of(user));
         when(passwordEncoder.encode(newPassword)).thenReturn(encodedPassword);
         when(userRepository.save(user)).thenReturn(user);
 
@@ -193,16 +214,19 @@ class UserServiceImplTest {
         assertNotNull(result);
         assertEquals(encodedPassword, user.getPassword());
         assertNotNull(user.getUpdated());
-        verify(userRepository).findById(userId);
+        verify(userRepository).findProfileById(userId);
         verify(passwordEncoder).encode(newPassword);
         verify(userRepository).save(user);
+        verify(userRepository).incrementTokenVersion(userId);
+        verify(tokenVersionService).invalidate(userId);
+        verify(userCacheInvalidator).evictUser(userId);
     }
 
     @Test
     void changePassword_UserNotFound() {
         String newPassword = "newPassword123";
 
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.findProfileById(userId)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> userService.changePassword(userId, newPassword));
@@ -212,6 +236,109 @@ class UserServiceImplTest {
         verify(passwordEncoder, never()).encode(anyString());
     }
 
+    @Test
+    void createConfirmed_Success() {
+        User pending = createTestUser();
+        pending.setId(null);
+        pending.setEmailConfirmed(false);
+        pending.setConfirmationCode("abc12345");
+        Role userRole = createRole(1L, "ROLE_USER");
+
+        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.empty());
+        when(roleCatalogService.getRoles("ROLE_USER")).thenReturn(Set.of(userRole));
+        when(userRepository.save(pending)).thenReturn(pending);
+
+        User result = userService.createConfirmed(pending);
+
+        assertTrue(result.isEmailConfirmed());
+        assertNull(result.getConfirmationCode());
+        assertEquals(Set.of(userRole), result.getRoles());
+        verify(userRepository).save(pending);
+    }
+
+    @Test
+    void createConfirmed_EmailTaken() {
+        User pending = createTestUser();
+        when(userRepository.findByEmail(userEmail)).thenReturn(Optional.of(createTestUser()));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> userService.createConfirmed(pending));
+
+        assertEquals("User already taken", exception.getMessage());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void confirmEmail_Success() {
+        when(userRepository.confirmEmail(eq(userId), any(LocalDateTime.class))).thenReturn(1);
+
+        userService.confirmEmail(userId);
+
+        verify(userRepository).confirmEmail(eq(userId), any(LocalDateTime.class));
+        verify(userCacheInvalidator).evictUser(userId);
+    }
+
+    @Test
+    void confirmEmail_NotFound() {
+        when(userRepository.confirmEmail(eq(userId), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.confirmEmail(userId));
+
+        verifyNoInteractions(userCacheInvalidator);
+    }
+
+    @Test
+    void getUsers_FirstPageWithNext() {
+        List<User> users = List.of(createPagedUser(1), createPagedUser(2), createPagedUser(3));
+        when(userRepository.findPage("ROLE_USER", true, PageRequest.of(0, 3))).thenReturn(users);
+
+        UserPage page = userService.getUsers("ROLE_USER", true, null, 2);
+
+        assertEquals(users.subList(0, 2), page.users());
+        assertEquals(UserCursor.of(users.get(1)), UserCursor.decode(page.nextCursor()));
+        verify(userRepository).findWithAddressesByIdIn(List.of(users.get(0).getId(), users.get(1).getId()));
+    }
+
+    @Test
+    void getUsers_LastPageAfterCursor() {
+        User previous = createPagedUser(1);
+        User last = createPagedUser(2);
+        when(userRepository.findPageAfter(previous.getCreated(), previous.getId(), null, null, PageRequest.of(0, 3)))
+                .thenReturn(List.of(last));
+
+        UserPage page = userService.getUsers(null, null, UserCursor.of(previous).encode(), 2);
+
+        assertEquals(List.of(last), page.users());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getUsers_CapsPageSize() {
+        when(userRepository.findPage(null, null, PageRequest.of(0, 201))).thenReturn(List.of());
+
+        UserPage page = userService.getUsers(null, null, null, 10_000);
+
+        assertTrue(page.users().isEmpty());
+        assertNull(page.nextCursor());
+        verify(userRepository, never()).findWithAddressesByIdIn(any());
+    }
+
+    @Test
+    void getUsers_InvalidCursor() {
+        assertThrows(IllegalStateException.class,
+                () -> userService.getUsers(null, null, "not-a-cursor", 10));
+
+        verifyNoInteractions(userRepository);
+    }
+
+    private User createPagedUser(int minute) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user" + minute + "@example.com");
+        user.setCreated(LocalDateTime.of(2025, 1, 1, 10, minute));
+        return user;
+    }
+
     private User createTestUser() {
         User user = new User();
         user.setId(userId);